@@ -0,0 +1,114 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic inputs shared by the benchmarks, so results stay comparable across releases.
+ */
+final class BenchmarkData {
+
+    static final String H2_USER = "sa";
+    static final String H2_PASSWORD = "";
+    static final String CHECKSUM = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkData() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * In-memory H2 database that disappears when its last connection is closed.
+     */
+    static String newDatabaseUrl(String name) {
+        return "jdbc:h2:mem:" + name + "_" + DATABASES.incrementAndGet();
+    }
+
+    /**
+     * In-memory H2 database kept alive for the whole JVM.
+     */
+    static String sharedDatabaseUrl(String name) {
+        return "jdbc:h2:mem:" + name + "_" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    static String scriptName(int index) {
+        return "V" + index + "__benchmark_script.sql";
+    }
+
+    static Path writeCatalog(int scripts) throws IOException {
+        Path dir = Files.createTempDirectory("deploysql-bench");
+        Path catalog = dir.resolve("catalog.xml");
+        try (Writer out = Files.newBufferedWriter(catalog, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<catalog>\n\t<database>\n\t\t<label>BENCH</label>\n\t\t<scripts>\n");
+            for (int i = 1; i <= scripts; i++) {
+                out.write("\t\t\t<script onetime=\"" + (i % 10 != 0) + "\" type=\"DATA\" label=\"script" + i + "\">scripts/" + scriptName(i) + "</script>\n");
+            }
+            out.write("\t\t</scripts>\n\t</database>\n</catalog>\n");
+        }
+        return catalog;
+    }
+
+    /**
+     * Script mixing DML, quoted literals with separators and comments, the usual content of a data script.
+     */
+    static String script(int statements) {
+        StringBuilder sb = new StringBuilder(statements * 96);
+        sb.append("-- generated benchmark script\n");
+        for (int i = 1; i <= statements; i++) {
+            if (i % 50 == 0) {
+                sb.append("/* checkpoint ").append(i).append(" */\n");
+            }
+            sb.append("INSERT INTO bench_data (id, name, note) VALUES (").append(i)
+                    .append(", 'name ").append(i).append("', 'it''s; a note -- not a comment');\n");
+        }
+        return sb.toString();
+    }
+
+    static Path writeScript(int statements) throws IOException {
+        Path file = Files.createTempFile("deploysql-bench", ".sql");
+        Files.write(file, script(statements).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    static void delete(Path path) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.benchmark;
+
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.data.master.MasterDAO;
+import cl.kanopus.deploysql.data.master.impl.MasterDAOImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking work of MasterDAOImpl on an embedded H2 database: registering every script and recording its execution
+ * on a new database, and deciding that nothing has to run on an up to date one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookkeepingBenchmark {
+
+    @Param({"100", "1000"})
+    private int scripts;
+
+    @Param({"true", "false"})
+    private boolean catalogSnapshot;
+
+    @Param({"1", "100"})
+    private int trackingBatchSize;
+
+    private DeployConfig config;
+    private String deployedUrl;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        config = new DeployConfig();
+        config.setCatalogSnapshot(catalogSnapshot);
+        config.setTrackingBatchSize(trackingBatchSize);
+        deployedUrl = BenchmarkData.sharedDatabaseUrl("deployed");
+        track(deployedUrl, null);
+    }
+
+    @Benchmark
+    public void firstDeploy(Blackhole blackhole) throws SQLException {
+        track(BenchmarkData.newDatabaseUrl("first"), blackhole);
+    }
+
+    @Benchmark
+    public void noChanges(Blackhole blackhole) throws SQLException {
+        track(deployedUrl, blackhole);
+    }
+
+    private void track(String url, Blackhole blackhole) throws SQLException {
+        MasterDAO dao = new MasterDAOImpl(config);
+        dao.openConnection("BENCH", BenchmarkData.H2_USER, BenchmarkData.H2_PASSWORD, url);
+        try {
+            dao.createSchema();
+            if (config.isCatalogSnapshot()) {
+                dao.loadCatalogState();
+            }
+            for (int i = 1; i <= scripts; i++) {
+                String filename = BenchmarkData.scriptName(i);
+                boolean execute = dao.saveCatalog("DATA", "script" + i, filename, false, BenchmarkData.CHECKSUM);
+                if (execute) {
+                    dao.saveCatalogExecution(filename, "SUCCESS", 1, "", Collections.emptyList());
+                }
+                if (blackhole != null) {
+                    blackhole.consume(execute);
+                }
+            }
+            dao.flush();
+        } finally {
+            dao.closeConnection();
+        }
+    }
+
+}
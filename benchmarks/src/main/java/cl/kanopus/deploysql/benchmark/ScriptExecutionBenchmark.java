@@ -0,0 +1,112 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.benchmark;
+
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.data.master.MasterDAO;
+import cl.kanopus.deploysql.data.master.impl.MasterDAOImpl;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading, splitting and executing a data script on an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScriptExecutionBenchmark {
+
+    private static final String DDL = "CREATE TABLE bench_data (id integer, name varchar(50), note varchar(100))";
+
+    @Param({"10000"})
+    private int statements;
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private String url;
+    private Path script;
+    private MasterDAO dao;
+    private ScriptOptions options;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        script = BenchmarkData.writeScript(statements);
+        options = new ScriptOptions();
+        options.setBatchSize(batchSize);
+        url = BenchmarkData.sharedDatabaseUrl("exec");
+        dao = new MasterDAOImpl(new DeployConfig());
+        dao.openConnection("BENCH", BenchmarkData.H2_USER, BenchmarkData.H2_PASSWORD, url);
+        execute(DDL);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        execute("TRUNCATE TABLE bench_data");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        execute("DROP TABLE bench_data");
+        dao.closeConnection();
+        BenchmarkData.delete(script);
+    }
+
+    @Benchmark
+    public ScriptStats executeScript() throws SQLException {
+        return dao.executeScript("DATA", script.toString(), options);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, BenchmarkData.H2_USER, BenchmarkData.H2_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.benchmark;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import cl.kanopus.deploysql.data.script.SqlStatement;
+import cl.kanopus.deploysql.data.script.SqlStatementReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement splitting of a script already in memory, without any database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StatementSplitBenchmark {
+
+    @Param({"1000", "100000"})
+    private int statements;
+
+    @Param({"POSTGRES", "ORACLE", "SQLSERVER"})
+    private DatabaseType dialect;
+
+    private String script;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        script = BenchmarkData.script(statements);
+    }
+
+    @Benchmark
+    public long split() throws IOException {
+        long chars = 0;
+        try (SqlStatementReader reader = new SqlStatementReader(new StringReader(script), dialect, "benchmark.sql")) {
+            SqlStatement statement;
+            while ((statement = reader.next()) != null) {
+                chars += statement.getText().length();
+            }
+        }
+        return chars;
+    }
+
+}
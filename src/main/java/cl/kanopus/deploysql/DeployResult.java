@@ -0,0 +1,162 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql;
+
+import cl.kanopus.deploysql.application.enums.DeployStatus;
+import cl.kanopus.deploysql.data.pool.PoolMetrics;
+
+import java.io.Serializable;
+
+public class DeployResult implements Serializable {
+
+    private static final long serialVersionUID = -1590841527043290412L;
+
+    private final String label;
+    private String tenant;
+    private DeployStatus status;
+    private int totalScripts;
+    private int executed;
+    private int skipped;
+    private int failed;
+    private int timedOut;
+    private long statements;
+    private long rowsAffected;
+    private long miliseconds;
+    private transient Exception exception;
+    private PoolMetrics poolMetrics;
+
+    public DeployResult(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public DeployStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeployStatus status) {
+        this.status = status;
+    }
+
+    public int getTotalScripts() {
+        return totalScripts;
+    }
+
+    public void setTotalScripts(int totalScripts) {
+        this.totalScripts = totalScripts;
+    }
+
+    public int getExecuted() {
+        return executed;
+    }
+
+    public void setExecuted(int executed) {
+        this.executed = executed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * Scripts cancelled at their timeout, also counted as failed.
+     */
+    public int getTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(int timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(long statements) {
+        this.statements = statements;
+    }
+
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    public void setRowsAffected(long rowsAffected) {
+        this.rowsAffected = rowsAffected;
+    }
+
+    public long getMiliseconds() {
+        return miliseconds;
+    }
+
+    public void setMiliseconds(long miliseconds) {
+        this.miliseconds = miliseconds;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+
+    public void setException(Exception exception) {
+        this.exception = exception;
+    }
+
+    public PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    public void setPoolMetrics(PoolMetrics poolMetrics) {
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (tenant == null ? label : tenant + "/" + label) + "] " + status + " (scripts: " + totalScripts + ", executed: " + executed + ", skipped: " + skipped
+                + ", failed: " + failed + ", statements: " + statements + ", miliseconds: " + miliseconds + ")";
+    }
+
+}
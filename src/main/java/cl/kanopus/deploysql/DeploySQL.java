@@ -24,15 +24,31 @@
 package cl.kanopus.deploysql;
 
 import cl.kanopus.deploysql.application.config.Catalog;
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.application.enums.DeployStatus;
 import cl.kanopus.deploysql.application.utils.CatalogUtils;
-import cl.kanopus.deploysql.data.master.MasterDAO;
-import cl.kanopus.deploysql.data.master.impl.MasterDAOImpl;
+import cl.kanopus.deploysql.application.utils.PathUtils;
+import cl.kanopus.deploysql.application.utils.ThreadUtils;
+import cl.kanopus.deploysql.data.pool.ConnectionPool;
+import cl.kanopus.deploysql.data.pool.SchemaDataSource;
+import cl.kanopus.deploysql.service.DatabaseDeployer;
+import cl.kanopus.deploysql.service.exception.ErrorCode;
+import cl.kanopus.deploysql.service.exception.ServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.URI;
-import java.sql.SQLException;
-import java.util.Date;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DeploySQL {
 
@@ -41,11 +57,35 @@ public class DeploySQL {
     private final String username;
     private final String password;
     private final String jdbcUrl;
+    private final DataSource dataSource;
+    private final DeployConfig config;
 
     public DeploySQL(String username, String password, String jdbcUrl) {
+        this(username, password, jdbcUrl, new DeployConfig());
+    }
+
+    public DeploySQL(String username, String password, String jdbcUrl, DeployConfig config) {
         this.username = username;
         this.password = password;
         this.jdbcUrl = jdbcUrl;
+        this.dataSource = null;
+        this.config = config;
+    }
+
+    /**
+     * Deploys through an application managed {@link DataSource}, usually an already tuned pool. Databases of the
+     * catalog declaring their own url still get a built-in pool.
+     */
+    public DeploySQL(DataSource dataSource) {
+        this(dataSource, new DeployConfig());
+    }
+
+    public DeploySQL(DataSource dataSource, DeployConfig config) {
+        this.username = null;
+        this.password = null;
+        this.jdbcUrl = null;
+        this.dataSource = dataSource;
+        this.config = config;
     }
 
     public int execute() throws Exception {
@@ -53,79 +93,288 @@ public class DeploySQL {
     }
 
     public int execute(String catalogXml) throws Exception {
+        List<DeployResult> results = deploy(catalogXml);
+        int totalScripts = 0;
+        for (DeployResult result : results) {
+            totalScripts += result.getTotalScripts();
+        }
+        for (DeployResult result : results) {
+            if (result.getException() != null) {
+                throw result.getException();
+            }
+        }
+        return totalScripts;
+    }
 
-        Catalog catalog = CatalogUtils.loadCatalog(catalogXml);
-        Catalog.Database database = catalog.getDatabase();
-        String label = database.getLabel();
+    /**
+     * Deploys every database of the catalog and reports one result per database, failures included.
+     */
+    public List<DeployResult> deploy(String catalogXml) throws Exception {
 
-        logger.info("Catalog has been loaded for {} database", label);
+        try (PathUtils.BundleScope ignored = PathUtils.openBundles()) {
+            Catalog catalog = CatalogUtils.loadCatalog(catalogXml);
+            List<Catalog.Database> databases = catalog.getDatabases();
 
-        MasterDAO masterDao = new MasterDAOImpl();
-        int totalScripts = 0;
-        logger.debug("-----------------------------------------------------------------------");
+            for (Catalog.Database database : databases) {
+                logger.info("Catalog has been loaded for {} database", database.getLabel());
+            }
+
+            List<ConnectionPool> pools = new ArrayList<>();
+            try {
+                return deploy(databases, pools, deadline());
+            } finally {
+                for (ConnectionPool pool : pools) {
+                    pool.close();
+                }
+            }
+        }
+    }
+
+    private List<DeployResult> deploy(List<Catalog.Database> databases, List<ConnectionPool> pools, long deadline) throws Exception {
+        if (databases.size() == 1) {
+            List<DeployResult> results = new ArrayList<>();
+            results.add(createDeployer(databases.get(0), pools, deadline).deploy());
+            return results;
+        }
+
+        int parallelism = Math.max(1, Math.min(config.getDatabaseParallelism(), databases.size()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "deploysql-database-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
+            Map<String, CompletableFuture<DeployResult>> futures = new LinkedHashMap<>();
+            for (Catalog.Database database : databases) {
+                DatabaseDeployer deployer = createDeployer(database, pools, deadline);
+                List<CompletableFuture<DeployResult>> predecessors = findPredecessors(database, futures);
+                CompletableFuture<DeployResult> future = CompletableFuture
+                        .allOf(predecessors.toArray(new CompletableFuture[0]))
+                        .thenApplyAsync(v -> {
+                            for (CompletableFuture<DeployResult> predecessor : predecessors) {
+                                DeployResult previous = predecessor.join();
+                                if (previous.getStatus() != DeployStatus.SUCCESS) {
+                                    logger.warn("[{}] Deploy skipped because {} database did not finish successfully", database.getLabel(), previous.getLabel());
+                                    DeployResult skipped = new DeployResult(database.getLabel());
+                                    skipped.setStatus(DeployStatus.SKIPPED);
+                                    return skipped;
+                                }
+                            }
+                            return deployer.deploy();
+                        }, executor);
+                futures.put(database.getLabel(), future);
+            }
 
-            masterDao.openConnection(label, username, password, jdbcUrl);
-
-            logger.info("[{}] Connection successfully established", label);
-            logger.info("[{}] Check table schema", label);
-            new URI(jdbcUrl.replaceFirst("jdbc:", ""));
-
-            totalScripts = database.getScripts().getRecords().size();
-
-            logger.info("[{}] Catalog asocciated with {} scripts for execution", label, totalScripts);
-
-            masterDao.createSchema();
-
-            int countScript = 1;
-            for (Catalog.Database.Scripts.Script script : database.getScripts().getRecords()) {
-                Exception exceptionScript = null;
-                boolean execute = false;
-                long timeExecution = 0;
-                long initTime = 0;
-                long endTime = 0;
-                String scriptFilename = null;
-                try {
-                    scriptFilename = CatalogUtils.getName(script.getFilename());
-                    execute = masterDao.saveCatalog(script.getType(), script.getLabel(), scriptFilename, script.getOnetime());
-                    // execute script
-                    if (execute) {
-                        initTime = (new Date()).getTime();
-                        masterDao.executeScript(script.getType(), script.getFilename());
-                        endTime = (new Date()).getTime();
-                        timeExecution = (endTime - initTime);
-                    }
+            List<DeployResult> results = new ArrayList<>();
+            for (CompletableFuture<DeployResult> future : futures.values()) {
+                DeployResult result = future.join();
+                logger.info("{}", result);
+                results.add(result);
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-                } catch (Exception ex) {
-                    exceptionScript = ex;
-                    endTime = (new Date()).getTime();
-                    timeExecution = (endTime - initTime);
-                } finally {
-                    if (execute) {
-                        if (exceptionScript == null) {
-                            logger.debug("[{}] [{}/{}] (SUCCESS): The script {} has been successfully executed.", label, countScript, totalScripts, scriptFilename);
-                            masterDao.saveCatalogExecution(scriptFilename, "SUCCESS", timeExecution, "");
-                        } else {
-                            logger.debug("[{}] [{}/{}] (ERROR) Error executing script {} : {}", label, countScript, totalScripts, scriptFilename, exceptionScript.getMessage());
-                            masterDao.saveCatalogExecution(scriptFilename, "ERROR", timeExecution, exceptionScript.getCause().getMessage());
-                        }
-                    } else {
-                        logger.debug("[{}] [{}/{}] (SKIPPED): The script {} has been skipped.", label, countScript, totalScripts, scriptFilename);
-                    }
-                    countScript++;
+    private List<CompletableFuture<DeployResult>> findPredecessors(Catalog.Database database, Map<String, CompletableFuture<DeployResult>> futures) throws ServiceException {
+        List<CompletableFuture<DeployResult>> predecessors = new ArrayList<>();
+        if (database.getAfter() != null) {
+            for (String after : database.getAfter().split("[,\\s]+")) {
+                if (after.isEmpty()) {
+                    continue;
+                }
+                CompletableFuture<DeployResult> predecessor = futures.get(after);
+                if (predecessor == null) {
+                    throw new ServiceException(ErrorCode.CATALOG_XML_INVALID, database.getLabel(), "after must reference a database declared before it: " + after);
                 }
+                predecessors.add(predecessor);
+            }
+        }
+        return predecessors;
+    }
 
+    private DatabaseDeployer createDeployer(Catalog.Database database, List<ConnectionPool> pools, long deadline) {
+        if (database.getUrl() == null && dataSource != null) {
+            return new DatabaseDeployer(database, dataSource, config, deadline);
+        }
+        String url = database.getUrl() != null ? database.getUrl() : jdbcUrl;
+        String user = database.getUsername() != null ? database.getUsername() : username;
+        String pass = database.getPassword() != null ? database.getPassword() : password;
+        ConnectionPool pool = newPool(url, user, pass, config.getPoolMaxSize() > 0 ? config.getPoolMaxSize() : poolSize());
+        pools.add(pool);
+        return new DatabaseDeployer(database, pool, config, deadline);
+    }
+
+    /**
+     * Parses and validates a catalog once, so it can be deployed to many tenants.
+     */
+    public static Catalog loadCatalog(String catalogXml) throws Exception {
+        return CatalogUtils.loadCatalog(catalogXml);
+    }
+
+    public List<DeployResult> deployTenants(Catalog catalog, List<DeployTarget> targets) throws InterruptedException {
+        return deployTenants(catalog, targets, TenantListener.NONE);
+    }
+
+    /**
+     * Deploys one parsed catalog to every target, tenantParallelism tenants at a time on virtual threads when the
+     * runtime has them. Schema targets share one pool per database and switch each borrowed connection to their
+     * schema, url targets get a pool of their own. The databases of a tenant are deployed one after another in catalog
+     * order. Once more than tenantFailureThreshold tenants have failed, the tenants not started yet are reported as
+     * SKIPPED. Results are returned in target order.
+     */
+    public List<DeployResult> deployTenants(Catalog catalog, List<DeployTarget> targets, TenantListener listener) throws InterruptedException {
+        List<Catalog.Database> databases = catalog.getDatabases();
+        long deadline = deadline();
+        int parallelism = Math.max(1, Math.min(config.getTenantParallelism(), targets.size()));
+        Map<String, ConnectionPool> sharedPools = new ConcurrentHashMap<>();
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore slots = new Semaphore(parallelism);
+        List<CompletableFuture<List<DeployResult>>> futures = new ArrayList<>();
+        ExecutorService executor = ThreadUtils.newVirtualThreadExecutor("deploysql-tenant-", parallelism);
+        PathUtils.BundleScope bundles = PathUtils.openBundles();
+        try {
+            boolean stopped = false;
+            for (DeployTarget target : targets) {
+                // a tenant starts only when a slot is free, so the threshold is checked against finished tenants
+                slots.acquire();
+                int threshold = config.getTenantFailureThreshold();
+                if (!stopped && threshold >= 0 && failures.get() > threshold) {
+                    stopped = true;
+                    logger.warn("Tenant rollout stopped after {} failed tenants, the remaining tenants are skipped", failures.get());
+                    notifyListener(() -> listener.rolloutStopped(failures.get()));
+                }
+                if (stopped) {
+                    slots.release();
+                    futures.add(CompletableFuture.completedFuture(skipTenant(target, databases)));
+                    continue;
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return deployTenant(target, databases, parallelism, sharedPools, failures, listener, deadline);
+                    } finally {
+                        slots.release();
+                    }
+                }, executor));
             }
 
-        } catch (SQLException e) {
-            throw e;
-        } catch (Exception ex) {
-            throw ex;
+            List<DeployResult> results = new ArrayList<>();
+            for (CompletableFuture<List<DeployResult>> future : futures) {
+                results.addAll(future.join());
+            }
+            return results;
         } finally {
-            logger.info("[{}] The database connection is closed ", label);
-            masterDao.closeConnection();
+            executor.shutdownNow();
+            for (ConnectionPool pool : sharedPools.values()) {
+                pool.close();
+            }
+            bundles.close();
         }
-        return totalScripts;
+    }
+
+    private List<DeployResult> deployTenant(DeployTarget target, List<Catalog.Database> databases, int parallelism,
+                                            Map<String, ConnectionPool> sharedPools, AtomicInteger failures, TenantListener listener, long deadline) {
+        notifyListener(() -> listener.tenantStarted(target));
+        List<DeployResult> results = new ArrayList<>();
+        List<ConnectionPool> pools = new ArrayList<>();
+        boolean failed = false;
+        try {
+            for (Catalog.Database database : databases) {
+                DeployResult result;
+                if (failed) {
+                    result = new DeployResult(database.getLabel());
+                    result.setStatus(DeployStatus.SKIPPED);
+                } else {
+                    try {
+                        DataSource tenantDataSource = tenantDataSource(database, target, parallelism, sharedPools, pools);
+                        result = new DatabaseDeployer(database, tenantDataSource, config, deadline).deploy();
+                    } catch (RuntimeException ex) {
+                        // a tenant that cannot be set up fails like a failed deployment instead of ending the rollout
+                        logger.error("[{}] Deploy of tenant {} could not be set up: {}", database.getLabel(), target.getTenant(), ex.getMessage());
+                        result = new DeployResult(database.getLabel());
+                        result.setStatus(DeployStatus.ERROR);
+                        result.setException(ex);
+                    }
+                    failed = result.getStatus() != DeployStatus.SUCCESS;
+                }
+                result.setTenant(target.getTenant());
+                logger.info("{}", result);
+                results.add(result);
+            }
+        } finally {
+            for (ConnectionPool pool : pools) {
+                pool.close();
+            }
+        }
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        notifyListener(() -> listener.tenantFinished(target, results));
+        return results;
+    }
+
+    /**
+     * A url target replaces the connection of the databases without their own url, like the url given to DeploySQL.
+     * Every other database is reached through a pool shared by all the tenants.
+     */
+    private DataSource tenantDataSource(Catalog.Database database, DeployTarget target, int parallelism,
+                                        Map<String, ConnectionPool> sharedPools, List<ConnectionPool> pools) {
+        DataSource base;
+        if (database.getUrl() == null && target.getUrl() != null) {
+            String user = target.getUsername() != null ? target.getUsername() : (database.getUsername() != null ? database.getUsername() : username);
+            String pass = target.getPassword() != null ? target.getPassword() : (database.getPassword() != null ? database.getPassword() : password);
+            ConnectionPool pool = newPool(target.getUrl(), user, pass, config.getPoolMaxSize() > 0 ? config.getPoolMaxSize() : poolSize());
+            pools.add(pool);
+            base = pool;
+        } else if (database.getUrl() == null && dataSource != null) {
+            base = dataSource;
+        } else {
+            String url = database.getUrl() != null ? database.getUrl() : jdbcUrl;
+            String user = database.getUsername() != null ? database.getUsername() : username;
+            String pass = database.getPassword() != null ? database.getPassword() : password;
+            int maxSize = config.getPoolMaxSize() > 0 ? config.getPoolMaxSize() : poolSize() * parallelism;
+            base = sharedPools.computeIfAbsent(url + '\0' + user, k -> newPool(url, user, pass, maxSize));
+        }
+        return target.getSchema() == null ? base : new SchemaDataSource(base, target.getSchema());
+    }
+
+    private List<DeployResult> skipTenant(DeployTarget target, List<Catalog.Database> databases) {
+        List<DeployResult> results = new ArrayList<>();
+        for (Catalog.Database database : databases) {
+            DeployResult result = new DeployResult(database.getLabel());
+            result.setTenant(target.getTenant());
+            result.setStatus(DeployStatus.SKIPPED);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static void notifyListener(Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException ex) {
+            logger.warn("Tenant listener failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * System.nanoTime at which the deployment stops, 0 when deployTimeout is not set.
+     */
+    private long deadline() {
+        return config.getDeployTimeout() > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getDeployTimeout()) : 0;
+    }
+
+    /**
+     * Connections used by the deployment of one database: bookkeeping, script workers and the audit writer.
+     */
+    private int poolSize() {
+        return config.getScriptParallelism() + (config.isAsyncAudit() ? 2 : 1);
+    }
+
+    private ConnectionPool newPool(String url, String user, String pass, int maxSize) {
+        return new ConnectionPool(url, user, pass, maxSize, config.getLoginTimeout(), config.getPoolWaitTimeout() * 1000L);
     }
 
 }
@@ -0,0 +1,90 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql;
+
+import java.io.Serializable;
+
+/**
+ * One tenant of a rollout: either a schema reached through the connection settings of the catalog, or a database of
+ * its own reached through a JDBC url.
+ */
+public class DeployTarget implements Serializable {
+
+    private static final long serialVersionUID = 6120973553617460842L;
+
+    private final String tenant;
+    private final String schema;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private DeployTarget(String tenant, String schema, String url, String username, String password) {
+        this.tenant = tenant;
+        this.schema = schema;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Tenant living in a schema of the catalog databases: search_path on PostgreSQL and current schema on Oracle and H2.
+     */
+    public static DeployTarget schema(String schema) {
+        return new DeployTarget(schema, schema, null, null, null);
+    }
+
+    public static DeployTarget url(String tenant, String url) {
+        return new DeployTarget(tenant, null, url, null, null);
+    }
+
+    public static DeployTarget url(String tenant, String url, String username, String password) {
+        return new DeployTarget(tenant, null, url, username, password);
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String toString() {
+        return tenant;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql;
+
+import java.util.List;
+
+/**
+ * Receives the progress of a tenant rollout. Methods are called from the deployment threads, several tenants at a time.
+ */
+public interface TenantListener {
+
+    TenantListener NONE = new TenantListener() {
+    };
+
+    default void tenantStarted(DeployTarget target) {
+    }
+
+    /**
+     * Results of every catalog database of the tenant, in catalog order.
+     */
+    default void tenantFinished(DeployTarget target, List<DeployResult> results) {
+    }
+
+    /**
+     * The failure threshold has been passed, the tenants not started yet are skipped.
+     */
+    default void rolloutStopped(int failedTenants) {
+    }
+
+}
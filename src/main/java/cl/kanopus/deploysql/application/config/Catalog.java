@@ -26,6 +26,8 @@ package cl.kanopus.deploysql.application.config;
 import jakarta.xml.bind.annotation.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @XmlRootElement(name = "catalog")
@@ -35,14 +37,22 @@ public class Catalog implements Serializable {
     private static final long serialVersionUID = 4073946422191774978L;
 
     @XmlElement(name = "database")
-    private Database database = null;
+    private List<Database> databases = new ArrayList<>();
 
     public Database getDatabase() {
-        return database;
+        return databases.isEmpty() ? null : databases.get(0);
     }
 
     public void setDatabase(Database database) {
-        this.database = database;
+        this.databases = new ArrayList<>(Collections.singletonList(database));
+    }
+
+    public List<Database> getDatabases() {
+        return databases;
+    }
+
+    public void setDatabases(List<Database> databases) {
+        this.databases = databases;
     }
 
     @XmlAccessorType(XmlAccessType.FIELD)
@@ -53,9 +63,21 @@ public class Catalog implements Serializable {
         @XmlElement(name = "label")
         private String label;
 
+        @XmlElement(name = "url")
+        private String url;
+
+        @XmlElement(name = "username")
+        private String username;
+
+        @XmlElement(name = "password")
+        private String password;
+
         @XmlElement(name = "scripts")
         private Scripts scripts = null;
 
+        @XmlAttribute(name = "after")
+        private String after;
+
         public String getLabel() {
             return label;
         }
@@ -64,6 +86,38 @@ public class Catalog implements Serializable {
             this.label = label;
         }
 
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getAfter() {
+            return after;
+        }
+
+        public void setAfter(String after) {
+            this.after = after;
+        }
+
         public Scripts getScripts() {
             return scripts;
         }
@@ -77,15 +131,51 @@ public class Catalog implements Serializable {
 
             private static final long serialVersionUID = 7164562340425337845L;
 
-            @XmlElement(name = "script")
-            private List<Script> records;
+            @XmlElements({
+                @XmlElement(name = "script", type = Script.class),
+                @XmlElement(name = "directory", type = Directory.class)
+            })
+            private List<Serializable> entries;
+
+            /**
+             * Scripts and directories in catalog order.
+             */
+            public List<Serializable> getEntries() {
+                return entries;
+            }
+
+            public void setEntries(List<Serializable> entries) {
+                this.entries = entries;
+            }
 
+            /**
+             * Scripts declared one by one, directory entries are expanded by the deployer.
+             */
             public List<Script> getRecords() {
+                List<Script> records = new ArrayList<>();
+                if (entries != null) {
+                    for (Serializable entry : entries) {
+                        if (entry instanceof Script) {
+                            records.add((Script) entry);
+                        }
+                    }
+                }
                 return records;
             }
 
             public void setRecords(List<Script> records) {
-                this.records = records;
+                this.entries = (records == null) ? null : new ArrayList<>(records);
+            }
+
+            public boolean hasDirectories() {
+                if (entries != null) {
+                    for (Serializable entry : entries) {
+                        if (entry instanceof Directory) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
             }
 
             @XmlAccessorType(XmlAccessType.FIELD)
@@ -101,6 +191,20 @@ public class Catalog implements Serializable {
                 private String type;
                 @XmlAttribute(name = "label")
                 private String label;
+                @XmlAttribute(name = "depends")
+                private String depends;
+                @XmlAttribute(name = "group")
+                private String group;
+                @XmlAttribute(name = "batch")
+                private Integer batch;
+                @XmlAttribute(name = "table")
+                private String table;
+                @XmlAttribute(name = "format")
+                private String format;
+                @XmlAttribute(name = "header")
+                private Boolean header;
+                @XmlAttribute(name = "timeout")
+                private Integer timeout;
 
                 public String getType() {
                     return type;
@@ -134,6 +238,143 @@ public class Catalog implements Serializable {
                     this.filename = filename;
                 }
 
+                public String getDepends() {
+                    return depends;
+                }
+
+                public void setDepends(String depends) {
+                    this.depends = depends;
+                }
+
+                public String getGroup() {
+                    return group;
+                }
+
+                public void setGroup(String group) {
+                    this.group = group;
+                }
+
+                public Integer getBatch() {
+                    return batch;
+                }
+
+                public void setBatch(Integer batch) {
+                    this.batch = batch;
+                }
+
+                public String getTable() {
+                    return table;
+                }
+
+                public void setTable(String table) {
+                    this.table = table;
+                }
+
+                public String getFormat() {
+                    return format;
+                }
+
+                public void setFormat(String format) {
+                    this.format = format;
+                }
+
+                public Boolean getHeader() {
+                    return header;
+                }
+
+                public void setHeader(Boolean header) {
+                    this.header = header;
+                }
+
+                public Integer getTimeout() {
+                    return timeout;
+                }
+
+                public void setTimeout(Integer timeout) {
+                    this.timeout = timeout;
+                }
+
+            }
+
+            /**
+             * Scripts of a directory matching a glob pattern, expanded in natural version order.
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            public static class Directory implements Serializable {
+
+                private static final long serialVersionUID = 2318815672590213307L;
+
+                @XmlValue
+                private String path;
+                @XmlAttribute(name = "pattern")
+                private String pattern;
+                @XmlAttribute(name = "recursive")
+                private Boolean recursive;
+                @XmlAttribute(name = "onetime")
+                private Boolean onetime;
+                @XmlAttribute(name = "type")
+                private String type;
+                @XmlAttribute(name = "group")
+                private String group;
+                @XmlAttribute(name = "batch")
+                private Integer batch;
+
+                public String getPath() {
+                    return path;
+                }
+
+                public void setPath(String path) {
+                    this.path = path;
+                }
+
+                public String getPattern() {
+                    return pattern;
+                }
+
+                public void setPattern(String pattern) {
+                    this.pattern = pattern;
+                }
+
+                public Boolean getRecursive() {
+                    return recursive;
+                }
+
+                public void setRecursive(Boolean recursive) {
+                    this.recursive = recursive;
+                }
+
+                public Boolean getOnetime() {
+                    return onetime;
+                }
+
+                public void setOnetime(Boolean onetime) {
+                    this.onetime = onetime;
+                }
+
+                public String getType() {
+                    return type;
+                }
+
+                public void setType(String type) {
+                    this.type = type;
+                }
+
+                public String getGroup() {
+                    return group;
+                }
+
+                public void setGroup(String group) {
+                    this.group = group;
+                }
+
+                public Integer getBatch() {
+                    return batch;
+                }
+
+                public void setBatch(Integer batch) {
+                    this.batch = batch;
+                }
+
             }
 
         }
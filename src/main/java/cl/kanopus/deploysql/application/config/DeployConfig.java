@@ -0,0 +1,455 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.config;
+
+import cl.kanopus.deploysql.application.enums.ResumePolicy;
+import cl.kanopus.deploysql.application.enums.TimeoutAction;
+import cl.kanopus.deploysql.application.enums.TransactionMode;
+import cl.kanopus.deploysql.application.metrics.DeployMetrics;
+import cl.kanopus.deploysql.data.script.ScriptFilter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class DeployConfig implements Serializable {
+
+    private static final long serialVersionUID = 2286014378201164935L;
+
+    /**
+     * Load the whole tracking state with one query and decide every script from memory.
+     */
+    private boolean catalogSnapshot = true;
+
+    /**
+     * Number of pending tracking writes gathered before they are flushed as JDBC batches. Only used with catalogSnapshot.
+     */
+    private int trackingBatchSize = 100;
+
+    /**
+     * Maximum number of catalog databases deployed at the same time.
+     */
+    private int databaseParallelism = 4;
+
+    /**
+     * Maximum number of scripts of one database executed at the same time, each on its own connection.
+     */
+    private int scriptParallelism = 1;
+
+    /**
+     * Seconds the driver waits while opening a physical connection.
+     */
+    private int loginTimeout = 30;
+
+    /**
+     * Maximum size of the built-in connection pool of each database, 0 sizes it from scriptParallelism.
+     */
+    private int poolMaxSize = 0;
+
+    /**
+     * Seconds a worker waits for a free connection of the built-in pool.
+     */
+    private int poolWaitTimeout = 60;
+
+    /**
+     * Executes repeatable scripts even when their content has not changed since the last successful execution.
+     */
+    private boolean rerunUnchanged = false;
+
+    /**
+     * JDBC batch size of consecutive DML statements by script type, overridden by the batch attribute of a script.
+     */
+    private Map<String, Integer> batchSizes = new HashMap<>();
+
+    /**
+     * How script statements are committed.
+     */
+    private TransactionMode transactionMode = TransactionMode.STATEMENT;
+
+    /**
+     * Executed scripts committed together in GROUP transaction mode.
+     */
+    private int groupCommitSize = 50;
+
+    /**
+     * Slowest statements of each script execution stored in CATALOG_SCRIPT_SQL_PROFILE, 0 disables profiling.
+     */
+    private int profileStatements = 0;
+
+    /**
+     * Registry receiving the timings and counters of each deployment.
+     */
+    private transient DeployMetrics metrics = DeployMetrics.NONE;
+
+    /**
+     * Charset of the script files.
+     */
+    private String scriptEncoding = "UTF-8";
+
+    /**
+     * Values of the ${name} placeholders replaced while the scripts are read.
+     */
+    private Map<String, String> placeholders = new HashMap<>();
+
+    /**
+     * Additional preprocessing steps by script type, applied in registration order.
+     */
+    private Map<String, List<ScriptFilter>> scriptFilters = new HashMap<>();
+
+    /**
+     * Writes the tracking records from a background thread on a dedicated connection.
+     */
+    private boolean asyncAudit = false;
+
+    /**
+     * Tracking records queued for the background writer before the deployment waits for it.
+     */
+    private int auditQueueSize = 1000;
+
+    /**
+     * Statements of a script committed together with a checkpoint in STATEMENT transaction mode, 0 disables them.
+     */
+    private int checkpointInterval = 0;
+
+    /**
+     * What to do with a script whose previous execution stopped after a checkpoint.
+     */
+    private ResumePolicy resumePolicy = ResumePolicy.RESTART;
+
+    /**
+     * Days of execution history kept in detail, older executions are compacted into rollups. 0 keeps all of them.
+     */
+    private int historyRetentionDays = 0;
+
+    /**
+     * Skips every script check when the catalog matches the fingerprint of the last fully successful deployment.
+     */
+    private boolean catalogFingerprint = false;
+
+    /**
+     * Maximum number of tenants deployed at the same time by a tenant rollout.
+     */
+    private int tenantParallelism = 16;
+
+    /**
+     * Failed tenants tolerated before a rollout skips the tenants not started yet, a negative value never stops it.
+     */
+    private int tenantFailureThreshold = 0;
+
+    /**
+     * Serialises the deployments of all nodes through a lock of the database engine.
+     */
+    private boolean deployLock = false;
+
+    /**
+     * Seconds a node waits for the deploy lock before its deployment fails.
+     */
+    private int deployLockTimeout = 300;
+
+    /**
+     * Scripts read and split on a background thread while the current one executes, 0 reads each script when it runs.
+     */
+    private int readAhead = 0;
+
+    /**
+     * Characters of read-ahead statements held in memory at most, across all the scripts read ahead.
+     */
+    private int readAheadBuffer = 4 * 1024 * 1024;
+
+    /**
+     * Seconds a script may run before its statement is cancelled, 0 means no limit. The timeout attribute of a
+     * script overrides it.
+     */
+    private int scriptTimeout = 0;
+
+    /**
+     * Seconds the whole deployment may run, the running scripts are cancelled and the rest skipped when it expires.
+     * 0 means no limit.
+     */
+    private int deployTimeout = 0;
+
+    /**
+     * What follows a script that exceeds its timeout.
+     */
+    private TimeoutAction timeoutAction = TimeoutAction.CONTINUE;
+
+    public boolean isCatalogSnapshot() {
+        return catalogSnapshot;
+    }
+
+    public void setCatalogSnapshot(boolean catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    public int getTrackingBatchSize() {
+        return trackingBatchSize;
+    }
+
+    public void setTrackingBatchSize(int trackingBatchSize) {
+        this.trackingBatchSize = trackingBatchSize;
+    }
+
+    public int getDatabaseParallelism() {
+        return databaseParallelism;
+    }
+
+    public void setDatabaseParallelism(int databaseParallelism) {
+        this.databaseParallelism = databaseParallelism;
+    }
+
+    public int getScriptParallelism() {
+        return scriptParallelism;
+    }
+
+    public void setScriptParallelism(int scriptParallelism) {
+        this.scriptParallelism = scriptParallelism;
+    }
+
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    public void setLoginTimeout(int loginTimeout) {
+        this.loginTimeout = loginTimeout;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    public int getPoolWaitTimeout() {
+        return poolWaitTimeout;
+    }
+
+    public void setPoolWaitTimeout(int poolWaitTimeout) {
+        this.poolWaitTimeout = poolWaitTimeout;
+    }
+
+    public boolean isRerunUnchanged() {
+        return rerunUnchanged;
+    }
+
+    public void setRerunUnchanged(boolean rerunUnchanged) {
+        this.rerunUnchanged = rerunUnchanged;
+    }
+
+    public int getBatchSize(String type) {
+        Integer batchSize = type == null ? null : batchSizes.get(type.toUpperCase(Locale.ROOT));
+        return batchSize == null ? 1 : batchSize;
+    }
+
+    public void setBatchSize(String type, int batchSize) {
+        batchSizes.put(type.toUpperCase(Locale.ROOT), batchSize);
+    }
+
+    public TransactionMode getTransactionMode() {
+        return transactionMode;
+    }
+
+    public void setTransactionMode(TransactionMode transactionMode) {
+        this.transactionMode = transactionMode;
+    }
+
+    public int getGroupCommitSize() {
+        return groupCommitSize;
+    }
+
+    public void setGroupCommitSize(int groupCommitSize) {
+        this.groupCommitSize = groupCommitSize;
+    }
+
+    public int getProfileStatements() {
+        return profileStatements;
+    }
+
+    public void setProfileStatements(int profileStatements) {
+        this.profileStatements = profileStatements;
+    }
+
+    public DeployMetrics getMetrics() {
+        return metrics == null ? DeployMetrics.NONE : metrics;
+    }
+
+    public void setMetrics(DeployMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public String getScriptEncoding() {
+        return scriptEncoding;
+    }
+
+    public void setScriptEncoding(String scriptEncoding) {
+        this.scriptEncoding = scriptEncoding;
+    }
+
+    public Map<String, String> getPlaceholders() {
+        return placeholders;
+    }
+
+    public void setPlaceholders(Map<String, String> placeholders) {
+        this.placeholders = placeholders;
+    }
+
+    public void setPlaceholder(String name, String value) {
+        placeholders.put(name, value);
+    }
+
+    public List<ScriptFilter> getScriptFilters(String type) {
+        List<ScriptFilter> filters = type == null ? null : scriptFilters.get(type.toUpperCase(Locale.ROOT));
+        return filters == null ? Collections.emptyList() : filters;
+    }
+
+    public void addScriptFilter(String type, ScriptFilter filter) {
+        scriptFilters.computeIfAbsent(type.toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(filter);
+    }
+
+    public boolean isAsyncAudit() {
+        return asyncAudit;
+    }
+
+    public void setAsyncAudit(boolean asyncAudit) {
+        this.asyncAudit = asyncAudit;
+    }
+
+    public int getAuditQueueSize() {
+        return auditQueueSize;
+    }
+
+    public void setAuditQueueSize(int auditQueueSize) {
+        this.auditQueueSize = auditQueueSize;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public ResumePolicy getResumePolicy() {
+        return resumePolicy;
+    }
+
+    public void setResumePolicy(ResumePolicy resumePolicy) {
+        this.resumePolicy = resumePolicy;
+    }
+
+    public int getHistoryRetentionDays() {
+        return historyRetentionDays;
+    }
+
+    public void setHistoryRetentionDays(int historyRetentionDays) {
+        this.historyRetentionDays = historyRetentionDays;
+    }
+
+    public boolean isDeployLock() {
+        return deployLock;
+    }
+
+    public void setDeployLock(boolean deployLock) {
+        this.deployLock = deployLock;
+    }
+
+    public int getDeployLockTimeout() {
+        return deployLockTimeout;
+    }
+
+    public void setDeployLockTimeout(int deployLockTimeout) {
+        this.deployLockTimeout = deployLockTimeout;
+    }
+
+    public boolean isCatalogFingerprint() {
+        return catalogFingerprint;
+    }
+
+    public void setCatalogFingerprint(boolean catalogFingerprint) {
+        this.catalogFingerprint = catalogFingerprint;
+    }
+
+    public int getTenantParallelism() {
+        return tenantParallelism;
+    }
+
+    public void setTenantParallelism(int tenantParallelism) {
+        this.tenantParallelism = tenantParallelism;
+    }
+
+    public int getTenantFailureThreshold() {
+        return tenantFailureThreshold;
+    }
+
+    public void setTenantFailureThreshold(int tenantFailureThreshold) {
+        this.tenantFailureThreshold = tenantFailureThreshold;
+    }
+
+    public int getReadAhead() {
+        return readAhead;
+    }
+
+    public void setReadAhead(int readAhead) {
+        this.readAhead = readAhead;
+    }
+
+    public int getReadAheadBuffer() {
+        return readAheadBuffer;
+    }
+
+    public void setReadAheadBuffer(int readAheadBuffer) {
+        this.readAheadBuffer = readAheadBuffer;
+    }
+
+    public int getScriptTimeout() {
+        return scriptTimeout;
+    }
+
+    public void setScriptTimeout(int scriptTimeout) {
+        this.scriptTimeout = scriptTimeout;
+    }
+
+    public int getDeployTimeout() {
+        return deployTimeout;
+    }
+
+    public void setDeployTimeout(int deployTimeout) {
+        this.deployTimeout = deployTimeout;
+    }
+
+    public TimeoutAction getTimeoutAction() {
+        return timeoutAction;
+    }
+
+    public void setTimeoutAction(TimeoutAction timeoutAction) {
+        this.timeoutAction = timeoutAction;
+    }
+
+}
@@ -27,7 +27,8 @@ public enum DatabaseType {
 
     ORACLE("oracle.jdbc.driver.OracleDriver", "jdbc:oracle:thin:@", "jdbc:oracle:thin:@%s:%s:%s", "schema/oracle/"),
     SQLSERVER("com.microsoft.sqlserver.jdbc.SQLServerDriver", "jdbc:sqlserver://", "jdbc:sqlserver://%s:%s;databaseName=%s", "schema/sqlserver/"),
-    POSTGRES("org.postgresql.Driver", "jdbc:postgresql://", "jdbc:postgresql://%s:%s/%s", "schema/postgres/");
+    POSTGRES("org.postgresql.Driver", "jdbc:postgresql://", "jdbc:postgresql://%s:%s/%s", "schema/postgres/"),
+    H2("org.h2.Driver", "jdbc:h2:", "jdbc:h2:tcp://%s:%s/%s", "schema/h2/");
 
     private final String driverClass;
     private final String prefix;
@@ -57,4 +58,13 @@ public enum DatabaseType {
         return schemaPath;
     }
 
+    public static DatabaseType fromUrl(String url) {
+        for (DatabaseType type : values()) {
+            if (url != null && url.startsWith(type.getPrefix())) {
+                return type;
+            }
+        }
+        throw new UnsupportedOperationException("Cannot determine data type related to connection url.\nThere is only support for the following database types: Oracle, Sql Server, Postgresql, H2");
+    }
+
 }
@@ -0,0 +1,50 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.metrics;
+
+import cl.kanopus.deploysql.application.enums.DeployPhase;
+import cl.kanopus.deploysql.application.enums.DeployStatus;
+
+/**
+ * Receives the timings and counters of a deployment, all durations are in nanoseconds. Implementations must be
+ * thread safe: parallel databases and scripts report concurrently.
+ */
+public interface DeployMetrics {
+
+    DeployMetrics NONE = new DeployMetrics() {
+    };
+
+    default void recordPhase(String database, DeployPhase phase, long nanos) {
+    }
+
+    /**
+     * One script of the catalog, nanos and counters are 0 for SKIPPED scripts.
+     */
+    default void recordScript(String database, String script, DeployStatus status, long nanos, long statements, long rowsAffected) {
+    }
+
+    default void recordDeploy(String database, DeployStatus status, long nanos) {
+    }
+
+}
@@ -0,0 +1,184 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.metrics;
+
+import cl.kanopus.deploysql.application.enums.DeployPhase;
+import cl.kanopus.deploysql.application.enums.DeployStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in metrics registry, aggregates every database of the process and publishes it as the MBean
+ * cl.kanopus.deploysql:type=DeployMetrics,name=&lt;name&gt;.
+ */
+@Slf4j
+public class JmxDeployMetrics implements DeployMetrics, DeployMetricsMXBean {
+
+    private final AtomicLong deploys = new AtomicLong();
+    private final AtomicLong deploysFailed = new AtomicLong();
+    private final AtomicLong scriptsExecuted = new AtomicLong();
+    private final AtomicLong scriptsSkipped = new AtomicLong();
+    private final AtomicLong scriptsFailed = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rowsAffected = new AtomicLong();
+    private final LatencyHistogram deployLatency = new LatencyHistogram();
+    private final LatencyHistogram scriptLatency = new LatencyHistogram();
+    private final Map<DeployPhase, LatencyHistogram> phaseLatency = new EnumMap<>(DeployPhase.class);
+
+    public JmxDeployMetrics() {
+        for (DeployPhase phase : DeployPhase.values()) {
+            phaseLatency.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Creates a registry and publishes it in the platform MBean server, replacing a previous one with the same name.
+     */
+    public static JmxDeployMetrics register(String name) {
+        JmxDeployMetrics metrics = new JmxDeployMetrics();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName("cl.kanopus.deploysql:type=DeployMetrics,name=" + ObjectName.quote(name));
+            try {
+                server.unregisterMBean(objectName);
+            } catch (InstanceNotFoundException ex) {
+                // first registration
+            }
+            server.registerMBean(metrics, objectName);
+        } catch (JMException ex) {
+            log.warn("Deploy metrics could not be published through JMX: {}", ex.getMessage());
+        }
+        return metrics;
+    }
+
+    @Override
+    public void recordPhase(String database, DeployPhase phase, long nanos) {
+        phaseLatency.get(phase).record(nanos);
+    }
+
+    @Override
+    public void recordScript(String database, String script, DeployStatus status, long nanos, long statements, long rowsAffected) {
+        if (status == DeployStatus.SKIPPED) {
+            scriptsSkipped.incrementAndGet();
+            return;
+        }
+        if (status == DeployStatus.SUCCESS) {
+            scriptsExecuted.incrementAndGet();
+        } else {
+            scriptsFailed.incrementAndGet();
+        }
+        scriptLatency.record(nanos);
+        this.statements.addAndGet(statements);
+        this.rowsAffected.addAndGet(rowsAffected);
+    }
+
+    @Override
+    public void recordDeploy(String database, DeployStatus status, long nanos) {
+        deploys.incrementAndGet();
+        if (status != DeployStatus.SUCCESS) {
+            deploysFailed.incrementAndGet();
+        }
+        deployLatency.record(nanos);
+    }
+
+    @Override
+    public long getDeploys() {
+        return deploys.get();
+    }
+
+    @Override
+    public long getDeploysFailed() {
+        return deploysFailed.get();
+    }
+
+    @Override
+    public LatencySnapshot getDeployLatency() {
+        return deployLatency.snapshot();
+    }
+
+    @Override
+    public long getScriptsExecuted() {
+        return scriptsExecuted.get();
+    }
+
+    @Override
+    public long getScriptsSkipped() {
+        return scriptsSkipped.get();
+    }
+
+    @Override
+    public long getScriptsFailed() {
+        return scriptsFailed.get();
+    }
+
+    @Override
+    public long getStatements() {
+        return statements.get();
+    }
+
+    @Override
+    public long getRowsAffected() {
+        return rowsAffected.get();
+    }
+
+    @Override
+    public LatencySnapshot getScriptLatency() {
+        return scriptLatency.snapshot();
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getPhaseLatency() {
+        Map<String, LatencySnapshot> snapshots = new LinkedHashMap<>();
+        for (Map.Entry<DeployPhase, LatencyHistogram> entry : phaseLatency.entrySet()) {
+            snapshots.put(entry.getKey().name(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        deploys.set(0);
+        deploysFailed.set(0);
+        scriptsExecuted.set(0);
+        scriptsSkipped.set(0);
+        scriptsFailed.set(0);
+        statements.set(0);
+        rowsAffected.set(0);
+        deployLatency.reset();
+        scriptLatency.reset();
+        for (LatencyHistogram histogram : phaseLatency.values()) {
+            histogram.reset();
+        }
+    }
+
+}
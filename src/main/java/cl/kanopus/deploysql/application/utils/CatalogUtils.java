@@ -26,6 +26,7 @@ package cl.kanopus.deploysql.application.utils;
 import cl.kanopus.common.util.FileUtils;
 import cl.kanopus.deploysql.application.config.Catalog;
 import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
 import lombok.extern.slf4j.Slf4j;
 import org.xml.sax.SAXException;
@@ -38,6 +39,9 @@ import javax.xml.validation.Validator;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @Slf4j
 public class CatalogUtils {
@@ -47,38 +51,91 @@ public class CatalogUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    public static Catalog loadCatalog(String file) throws Exception {
-        JAXBContext jaxbContext = JAXBContext.newInstance(Catalog.class);
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+    private static JAXBContext context;
+    private static Schema schema;
 
+    /**
+     * Parses the catalog and validates it against catalog.xsd in the same pass. The JAXB context and the compiled
+     * schema are created once and shared by every deployment of the JVM.
+     */
+    public static Catalog loadCatalog(String file) throws Exception {
+        if (file != null && PathUtils.isBundled(file)) {
+            return loadBundledCatalog(PathUtils.resolve(file));
+        }
         File xml = FileUtils.getFile(file, "catalog.xml", "./catalog.xml", "../catalog.xml");
         log.debug("catalog.xml loaded successfully with path: {}", xml.getAbsolutePath());
 
-        CatalogUtils.validateXMLSchema(xml);
+        Unmarshaller jaxbUnmarshaller = getContext().createUnmarshaller();
+        jaxbUnmarshaller.setSchema(getSchema());
         return (Catalog) jaxbUnmarshaller.unmarshal(xml);
     }
 
+    /**
+     * Loads a catalog stored inside a bundle. Its script and directory paths are entries of the same bundle, relative
+     * to the catalog unless they start with a slash.
+     */
+    private static Catalog loadBundledCatalog(Path xml) throws Exception {
+        log.debug("catalog.xml loaded successfully from bundle: {}", PathUtils.toLocation(xml));
+        Unmarshaller jaxbUnmarshaller = getContext().createUnmarshaller();
+        jaxbUnmarshaller.setSchema(getSchema());
+        Catalog catalog;
+        try (InputStream in = Files.newInputStream(xml)) {
+            catalog = (Catalog) jaxbUnmarshaller.unmarshal(in);
+        }
+        for (Catalog.Database database : catalog.getDatabases()) {
+            if (database.getScripts() == null || database.getScripts().getEntries() == null) {
+                continue;
+            }
+            for (Serializable entry : database.getScripts().getEntries()) {
+                if (entry instanceof Catalog.Database.Scripts.Script) {
+                    Catalog.Database.Scripts.Script script = (Catalog.Database.Scripts.Script) entry;
+                    script.setFilename(bundleEntry(xml, script.getFilename()));
+                } else if (entry instanceof Catalog.Database.Scripts.Directory) {
+                    Catalog.Database.Scripts.Directory directory = (Catalog.Database.Scripts.Directory) entry;
+                    directory.setPath(bundleEntry(xml, directory.getPath()));
+                }
+            }
+        }
+        return catalog;
+    }
+
+    private static String bundleEntry(Path catalog, String path) {
+        if (path == null || PathUtils.isBundled(path.trim())) {
+            return path;
+        }
+        return PathUtils.toLocation(catalog.resolveSibling(path.trim()).normalize());
+    }
+
     public static void validateXMLSchema(File xml) throws SAXException, IOException {
         log.info("Starting XML validation against XSD schema.");
+        Validator validator = getSchema().newValidator();
+        validator.validate(new StreamSource(xml));
+    }
 
+    private static synchronized JAXBContext getContext() throws JAXBException {
+        if (context == null) {
+            context = JAXBContext.newInstance(Catalog.class);
+        }
+        return context;
+    }
+
+    private static synchronized Schema getSchema() throws SAXException, IOException {
+        if (schema != null) {
+            return schema;
+        }
         SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
         // Prevent XXE by disabling DOCTYPE and external entities
         factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
         factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
 
-        // 1) Open catalog.xsd from classpath (into de JAR)
+        // Open catalog.xsd from classpath (into de JAR)
         try (InputStream xsdIn = CatalogUtils.class.getResourceAsStream("/catalog.xsd")) {
             if (xsdIn == null) {
                 throw new IOException("catalog.xsd not found on classpath");
             }
-
-            // Compile the schema
-            Schema schema = factory.newSchema(new StreamSource(xsdIn));
-            // Validate the XML
-            Validator validator = schema.newValidator();
-            validator.validate(new StreamSource(xml));
+            schema = factory.newSchema(new StreamSource(xsdIn));
         }
-
+        return schema;
     }
 
     public static String getName(String filename) {
@@ -0,0 +1,148 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ChecksumUtils {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Map<String, FileChecksum> FILE_CHECKSUMS = new ConcurrentHashMap<>();
+
+    private ChecksumUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * SHA-256 of the file content in hexadecimal, read in fixed size chunks.
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * {@link #sha256(Path)} remembered by path, size and modification time, so a file is only read again once it
+     * changes. Tenants and repeated deployments of the same catalog share the checksums. Entries of a bundle are
+     * always read, builds with fixed entry times would leave a changed entry with the same size and time.
+     */
+    public static String sha256Cached(Path file) throws IOException {
+        if (file.getFileSystem() != FileSystems.getDefault()) {
+            return sha256(file);
+        }
+        String key = file.toAbsolutePath().toString();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        FileChecksum cached = FILE_CHECKSUMS.get(key);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.checksum;
+        }
+        String checksum = sha256(file);
+        FILE_CHECKSUMS.put(key, new FileChecksum(size, modified, checksum));
+        return checksum;
+    }
+
+    /**
+     * SHA-256 of the text in hexadecimal, encoded as UTF-8 while it is read.
+     */
+    public static String sha256(Reader reader) throws IOException {
+        MessageDigest digest = newDigest();
+        char[] buffer = new char[BUFFER_SIZE];
+        try (Writer out = new OutputStreamWriter(new DigestOutputStream(new DiscardOutputStream(), digest), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static class FileChecksum {
+
+        private final long size;
+        private final long modified;
+        private final String checksum;
+
+        private FileChecksum(long size, long modified, String checksum) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+    }
+
+    private static class DiscardOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            // only the digest of the bytes is kept
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // only the digest of the bytes is kept
+        }
+    }
+
+}
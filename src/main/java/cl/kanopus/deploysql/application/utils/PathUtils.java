@@ -0,0 +1,178 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves script locations. Besides file paths, a location can name an entry of a zip or jar bundle as
+ * {@code bundle.zip!/scripts/001.sql}, a {@code jar:} URI or a {@code classpath:} resource. Entries are read through
+ * the zip file system, which indexes the bundle once when it is opened and inflates each entry as it is read, so
+ * nothing is extracted to disk.
+ */
+@Slf4j
+public class PathUtils {
+
+    public static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final String BUNDLE_SEPARATOR = "!/";
+
+    private static final Map<Path, FileSystem> bundles = new ConcurrentHashMap<>();
+    private static int bundleScopes = 0;
+
+    private PathUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static Path resolve(String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.substring(CLASSPATH_PREFIX.length()).replaceFirst("^/+", "");
+            URL url = PathUtils.class.getClassLoader().getResource(resource);
+            if (url == null) {
+                throw new NoSuchFileException(location, null, "not found on classpath");
+            }
+            try {
+                return resolve(url.toURI());
+            } catch (URISyntaxException ex) {
+                throw new IOException("Invalid classpath location " + location, ex);
+            }
+        }
+        if (location.startsWith("jar:")) {
+            return resolve(URI.create(location));
+        }
+        int separator = location.indexOf(BUNDLE_SEPARATOR);
+        if (separator > 0) {
+            return bundle(Paths.get(location.substring(0, separator))).getPath(location.substring(separator + 1));
+        }
+        return Paths.get(location);
+    }
+
+    /**
+     * Location of a path that {@link #resolve(String)} maps back to the same path, used for the scripts found by
+     * scanning a directory inside a bundle.
+     */
+    public static String toLocation(Path path) {
+        for (Map.Entry<Path, FileSystem> bundle : bundles.entrySet()) {
+            if (bundle.getValue() == path.getFileSystem()) {
+                return bundle.getKey() + "!" + path.toAbsolutePath();
+            }
+        }
+        return path.toString();
+    }
+
+    public static boolean isBundled(String location) {
+        return location.startsWith(CLASSPATH_PREFIX) || location.startsWith("jar:") || location.indexOf(BUNDLE_SEPARATOR) > 0;
+    }
+
+    private static Path resolve(URI uri) throws IOException {
+        if (!"jar".equals(uri.getScheme())) {
+            return Paths.get(uri);
+        }
+        String spec = uri.getSchemeSpecificPart();
+        int separator = spec.indexOf(BUNDLE_SEPARATOR);
+        if (separator < 0) {
+            throw new IOException("Invalid bundle location " + uri);
+        }
+        try {
+            return bundle(Paths.get(new URI(spec.substring(0, separator)))).getPath(spec.substring(separator + 1));
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            throw new IOException("Invalid bundle location " + uri, ex);
+        }
+    }
+
+    /**
+     * Keeps the bundles open until the scope is closed. When the last open scope closes every bundle is closed, so
+     * their files are released and a replaced bundle is read again by the next deployment.
+     */
+    public static BundleScope openBundles() {
+        synchronized (bundles) {
+            bundleScopes++;
+        }
+        return new BundleScope();
+    }
+
+    private static void closeBundles() {
+        synchronized (bundles) {
+            if (--bundleScopes > 0) {
+                return;
+            }
+            for (Map.Entry<Path, FileSystem> bundle : bundles.entrySet()) {
+                try {
+                    bundle.getValue().close();
+                } catch (IOException ex) {
+                    log.warn("Bundle {} could not be closed: {}", bundle.getKey(), ex.getMessage());
+                }
+            }
+            bundles.clear();
+        }
+    }
+
+    /**
+     * Zip file system of a bundle, opened on first use and shared by the deployments running until the last
+     * {@link BundleScope} is closed.
+     */
+    private static FileSystem bundle(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        FileSystem fileSystem = bundles.get(key);
+        if (fileSystem == null) {
+            synchronized (bundles) {
+                fileSystem = bundles.get(key);
+                if (fileSystem == null) {
+                    fileSystem = FileSystems.newFileSystem(key, (ClassLoader) null);
+                    bundles.put(key, fileSystem);
+                }
+            }
+        }
+        return fileSystem;
+    }
+
+    public static class BundleScope implements AutoCloseable {
+
+        private boolean closed = false;
+
+        private BundleScope() {
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                closeBundles();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.audit;
+
+import cl.kanopus.deploysql.data.impl.AbstractDAO;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes tracking records from a background thread on its own auto-commit connection. Records are written in the
+ * order they were submitted, consecutive records of the same statement go in one JDBC batch. The queue is bounded:
+ * submit blocks while it is full, and flush waits until every record submitted before it has been written. The first
+ * record that could not be written is thrown by every flush and close that follows it.
+ */
+@Slf4j
+public class AuditWriter extends AbstractDAO implements AutoCloseable {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private final String label;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile SQLException failure;
+
+    public AuditWriter(String label, int capacity, int batchSize) {
+        this.label = label;
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    public void start(DataSource dataSource) throws SQLException {
+        openConnection(dataSource);
+        running = true;
+        thread = new Thread(this::drain, "deploysql-audit-" + label);
+        thread.setDaemon(true);
+        thread.start();
+        log.debug("[{}] Audit writer started", label);
+    }
+
+    public void submit(String sql, Object... params) throws SQLException {
+        put(new AuditRecord(sql, params == null ? NO_PARAMS : params, null));
+    }
+
+    public void flush() throws SQLException {
+        CountDownLatch done = new CountDownLatch(1);
+        put(new AuditRecord(null, NO_PARAMS, done));
+        try {
+            while (!done.await(1, TimeUnit.SECONDS)) {
+                if (!thread.isAlive()) {
+                    throw new SQLException("Audit writer of " + label + " has stopped");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while flushing tracking records", ex);
+        }
+        if (failure != null) {
+            throw new SQLException("Tracking records of " + label + " could not be written: " + failure.getMessage(), failure);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (thread == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            running = false;
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+            closeConnection();
+            log.debug("[{}] Audit writer stopped", label);
+        }
+    }
+
+    private void put(AuditRecord record) throws SQLException {
+        if (thread == null || !thread.isAlive()) {
+            throw new SQLException("Audit writer of " + label + " is not running");
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while queuing a tracking record", ex);
+        }
+    }
+
+    private void drain() {
+        List<AuditRecord> records = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                records.add(queue.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            queue.drainTo(records, batchSize - 1);
+            write(records);
+            records.clear();
+        }
+        queue.drainTo(records);
+        write(records);
+    }
+
+    private void write(List<AuditRecord> records) {
+        List<Object[]> batch = new ArrayList<>();
+        String sql = null;
+        for (AuditRecord record : records) {
+            if (record.sql == null || !record.sql.equals(sql)) {
+                if (!batch.isEmpty()) {
+                    write(sql, batch);
+                    batch = new ArrayList<>();
+                }
+                sql = record.sql;
+            }
+            if (record.sql != null) {
+                batch.add(record.params);
+            } else {
+                record.done.countDown();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(sql, batch);
+        }
+    }
+
+    private void write(String sql, List<Object[]> batch) {
+        try {
+            writeBatch(sql, batch);
+        } catch (SQLException ex) {
+            log.error("[{}] Error writing tracking records: {} ", label, ex.getMessage());
+            if (failure == null) {
+                failure = ex;
+            }
+        }
+    }
+
+    private static class AuditRecord {
+
+        private final String sql;
+        private final Object[] params;
+        private final CountDownLatch done;
+
+        private AuditRecord(String sql, Object[] params, CountDownLatch done) {
+            this.sql = sql;
+            this.params = params;
+            this.done = done;
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a CSV/TSV file into a table through the fastest path of each engine.
+ */
+public interface BulkLoader {
+
+    /**
+     * Returns the number of loaded rows, or -1 when the driver does not report it. A deadline in the options bounds
+     * the load through the timeout the engine offers for it.
+     */
+    long load(Connection connection, Path file, ScriptOptions options) throws SQLException, IOException;
+
+    /**
+     * Seconds left until the deadline rounded up, failing when none is left.
+     */
+    static int remainingSeconds(long deadline) throws SQLTimeoutException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("The bulk load exceeded its timeout");
+        }
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L));
+    }
+
+    static BulkLoader forType(DatabaseType databaseType) {
+        switch (databaseType) {
+            case POSTGRES:
+                return new PostgresBulkLoader();
+            case SQLSERVER:
+                return new SqlServerBulkLoader();
+            case ORACLE:
+            case H2:
+                // plain batched inserts, so the embedded database of benchmarks and tests loads the same files
+                return new OracleBulkLoader();
+            default:
+                throw new UnsupportedOperationException("BULK scripts are not supported for " + databaseType);
+        }
+    }
+
+}
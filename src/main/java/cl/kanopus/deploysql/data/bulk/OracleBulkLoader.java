@@ -0,0 +1,124 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the file with one prepared INSERT bound in arrays of batchSize rows. Values are bound as strings and
+ * converted by Oracle with the NLS settings of the session. With a deadline each batch gets the time left as its
+ * query timeout.
+ */
+public class OracleBulkLoader implements BulkLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public long load(Connection connection, Path file, ScriptOptions options) throws SQLException, IOException {
+        int batchSize = options.getBatchSize() > 1 ? options.getBatchSize() : BATCH_SIZE;
+        long rows = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, Charset.forName(options.getEncoding()))) {
+            CsvReader csv = new CsvReader(in, options.getDelimiter());
+            List<String> columns = options.isHeader() ? csv.next() : tableColumns(connection, options.getTable());
+            if (columns == null) {
+                return 0;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(insert(options.getTable(), columns))) {
+                int pending = 0;
+                List<String> record;
+                while ((record = csv.next()) != null) {
+                    if (record.size() == 1 && record.get(0) == null) {
+                        continue;
+                    }
+                    if (record.size() != columns.size()) {
+                        throw new SQLException("Line " + (rows + pending + 1) + " of " + file.getFileName() + " has " + record.size() + " fields, expected " + columns.size());
+                    }
+                    for (int i = 0; i < record.size(); i++) {
+                        if (record.get(i) == null) {
+                            statement.setNull(i + 1, Types.VARCHAR);
+                        } else {
+                            statement.setString(i + 1, record.get(i));
+                        }
+                    }
+                    statement.addBatch();
+                    if (++pending >= batchSize) {
+                        rows += pending;
+                        executeBatch(statement, options.getDeadline());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    rows += pending;
+                    executeBatch(statement, options.getDeadline());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void executeBatch(PreparedStatement statement, long deadline) throws SQLException {
+        if (deadline != 0) {
+            statement.setQueryTimeout(BulkLoader.remainingSeconds(deadline));
+        }
+        statement.executeBatch();
+    }
+
+    private static List<String> tableColumns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM " + table + " WHERE 1=0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnName(i));
+            }
+        }
+        return columns;
+    }
+
+    private static String insert(String table, List<String> columns) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+}
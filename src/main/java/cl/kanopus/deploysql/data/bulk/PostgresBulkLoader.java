@@ -0,0 +1,85 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Streams the file through COPY ... FROM STDIN. With a deadline the session statement_timeout bounds the COPY and is
+ * reset afterwards.
+ */
+public class PostgresBulkLoader implements BulkLoader {
+
+    @Override
+    public long load(Connection connection, Path file, ScriptOptions options) throws SQLException, IOException {
+        String sql = "COPY " + options.getTable() + " FROM STDIN WITH (FORMAT csv, DELIMITER '" + options.getDelimiter()
+                + "', HEADER " + options.isHeader() + ")";
+        if (options.getDeadline() != 0) {
+            setStatementTimeout(connection, BulkLoader.remainingSeconds(options.getDeadline()) * 1000L);
+        }
+        Exception failure = null;
+        try (Reader reader = Files.newBufferedReader(file, Charset.forName(options.getEncoding()))) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, reader);
+        } catch (SQLException | IOException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            if (options.getDeadline() != 0) {
+                resetStatementTimeout(connection, failure);
+            }
+        }
+    }
+
+    /**
+     * A failed COPY aborts an open transaction, the RESET then fails too and must not hide the COPY error. The rollback
+     * of that transaction undoes the SET anyway.
+     */
+    private static void resetStatementTimeout(Connection connection, Exception failure) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RESET statement_timeout");
+        } catch (SQLException ex) {
+            if (failure == null) {
+                throw ex;
+            }
+            failure.addSuppressed(ex);
+        }
+    }
+
+    private static void setStatementTimeout(Connection connection, long millis) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET statement_timeout = " + millis);
+        }
+    }
+
+}
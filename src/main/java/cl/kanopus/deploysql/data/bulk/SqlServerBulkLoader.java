@@ -0,0 +1,76 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCSVFileRecord;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the file through SQLServerBulkCopy, column types are taken from the target table. With a deadline the time
+ * left is the bulk copy timeout.
+ */
+public class SqlServerBulkLoader implements BulkLoader {
+
+    private static final int BATCH_SIZE = 10000;
+
+    @Override
+    public long load(Connection connection, Path file, ScriptOptions options) throws SQLException, IOException {
+        try (InputStream in = Files.newInputStream(file);
+             SQLServerBulkCSVFileRecord record = new SQLServerBulkCSVFileRecord(in, options.getEncoding(), Pattern.quote(String.valueOf(options.getDelimiter())), options.isHeader());
+             SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class))) {
+
+            record.setEscapeColumnDelimitersCSV(true);
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT * FROM " + options.getTable() + " WHERE 1=0")) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    record.addColumnMetadata(i, metaData.getColumnName(i), metaData.getColumnType(i), metaData.getPrecision(i), metaData.getScale(i));
+                }
+            }
+
+            SQLServerBulkCopyOptions copyOptions = new SQLServerBulkCopyOptions();
+            copyOptions.setBatchSize(options.getBatchSize() > 1 ? options.getBatchSize() : BATCH_SIZE);
+            copyOptions.setBulkCopyTimeout(options.getDeadline() == 0 ? 0 : BulkLoader.remainingSeconds(options.getDeadline()));
+            bulkCopy.setBulkCopyOptions(copyOptions);
+            bulkCopy.setDestinationTableName(options.getTable());
+            bulkCopy.writeToServer(record);
+        }
+        return -1;
+    }
+
+}
@@ -24,24 +24,46 @@
 package cl.kanopus.deploysql.data.impl;
 
 import cl.kanopus.deploysql.application.enums.DatabaseType;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.EncodedResource;
-import org.springframework.jdbc.datasource.init.ScriptUtils;
+import cl.kanopus.deploysql.application.utils.ChecksumUtils;
+import cl.kanopus.deploysql.application.utils.PathUtils;
+import cl.kanopus.deploysql.data.bulk.BulkLoader;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptStatementException;
+import cl.kanopus.deploysql.data.script.ScriptStats;
+import cl.kanopus.deploysql.data.script.ScriptTimeoutException;
+import cl.kanopus.deploysql.data.script.SqlStatement;
+import cl.kanopus.deploysql.data.script.SqlStatementReader;
+import cl.kanopus.deploysql.data.script.SqlStatementSource;
+import cl.kanopus.deploysql.data.script.StatementProfiler;
+import lombok.extern.slf4j.Slf4j;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 public abstract class AbstractDAO {
 
     protected Connection connection = null;
     protected DatabaseType databaseType = null;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
 
     public void closeConnection() throws SQLException {
+        closeStatements();
         if (connection != null) {
             connection.close();
         }
@@ -49,11 +71,36 @@ public abstract class AbstractDAO {
         databaseType = null;
     }
 
+    public void beginTransaction() throws SQLException {
+        connection.setAutoCommit(false);
+    }
+
+    public void commit() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    public void rollback() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+    }
+
+    public Savepoint setSavepoint() throws SQLException {
+        return connection.setSavepoint();
+    }
+
+    public void rollback(Savepoint savepoint) throws SQLException {
+        connection.rollback(savepoint);
+    }
+
     protected DatabaseType openConnection(String url, String user, String password, Integer timeout) throws SQLException {
         try {
             String driverClass = evaluateDriverClass(url);
             Class.forName(driverClass);
             DriverManager.setLoginTimeout(timeout == null ? 30 : timeout);// timeout is only how long the DriverManager waits for a connection
+            closeStatements();
             connection = DriverManager.getConnection(url, user, password);
             databaseType = evaluateType(url);
             return databaseType;
@@ -66,100 +113,181 @@ public abstract class AbstractDAO {
 
     }
 
+    protected DatabaseType openConnection(DataSource dataSource) throws SQLException {
+        closeStatements();
+        connection = dataSource.getConnection();
+        try {
+            databaseType = evaluateType(connection.getMetaData().getURL());
+            return databaseType;
+        } catch (RuntimeException ex) {
+            closeConnection();
+            throw new SQLException("Error getting connection", ex);
+        }
+    }
+
     protected int queryForInt(String sql, Object... params) throws SQLException {
         return (int) queryForLong(sql, params);
     }
 
     protected long queryForLong(String sql, Object... params) throws SQLException {
-        long number = 0;
-
-        try (PreparedStatement prepareStatement = connection.prepareStatement(sql);) {
-            if (params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    if (params[i] instanceof Date) {
-                        prepareStatement.setTimestamp((i + 1), new java.sql.Timestamp(((Date) params[i]).getTime()));
-                    } else {
-                        prepareStatement.setObject((i + 1), params[i]);
-                    }
-                }
-            }
-            try (ResultSet resultset = prepareStatement.executeQuery();) {
-                if (resultset.next()) {
-                    number = resultset.getLong(1);
-                } else {
-                    number = 0;
-                }
+        PreparedStatement prepareStatement = prepare(sql);
+        try {
+            bind(prepareStatement, params);
+            try (ResultSet resultset = prepareStatement.executeQuery()) {
+                return resultset.next() ? resultset.getLong(1) : 0;
             }
+        } catch (SQLException ex) {
+            evict(sql);
+            throw ex;
         }
-        return number;
     }
 
     protected int execute(String sql, Object... params) throws SQLException {
+        PreparedStatement prepareStatement = prepare(sql);
+        try {
+            bind(prepareStatement, params);
+            return prepareStatement.executeUpdate();
+        } catch (SQLException ex) {
+            evict(sql);
+            throw ex;
+        }
+    }
 
-        try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
-            if (params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    if (params[i] instanceof Date) {
-                        prepareStatement.setTimestamp((i + 1), new java.sql.Timestamp(((Date) params[i]).getTime()));
-                    } else {
-                        prepareStatement.setObject((i + 1), params[i]);
+    /**
+     * Writes tracking records as one JDBC batch. When the batch fails the records are retried one by one, so a single
+     * bad record does not lose the others; the first record that still fails is then thrown.
+     */
+    protected void writeBatch(String sql, List<Object[]> records) throws SQLException {
+        try {
+            executeBatch(sql, records);
+        } catch (BatchUpdateException ex) {
+            log.warn("Tracking batch failed ({}), retrying its {} records one by one", ex.getMessage(), records.size());
+            SQLException failure = null;
+            for (Object[] params : records) {
+                try {
+                    execute(sql, params);
+                } catch (SQLException e) {
+                    log.error("Error writing tracking record: {} ", e.getMessage());
+                    if (failure == null) {
+                        failure = e;
                     }
                 }
             }
-            return prepareStatement.executeUpdate();
+            if (failure != null) {
+                throw failure;
+            }
         }
     }
 
-    protected String queryForString(String sql, Object... params) throws SQLException {
-        String text = null;
-        try (PreparedStatement prepareStatement = connection.prepareStatement(sql);) {
-            if (params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    if (params[i] instanceof Date) {
-                        prepareStatement.setTimestamp((i + 1), new java.sql.Timestamp(((Date) params[i]).getTime()));
-                    } else {
-                        prepareStatement.setObject((i + 1), params[i]);
-                    }
-                }
+    protected int[] executeBatch(String sql, List<Object[]> batch) throws SQLException {
+        PreparedStatement prepareStatement = prepare(sql);
+        try {
+            for (Object[] params : batch) {
+                bind(prepareStatement, params);
+                prepareStatement.addBatch();
             }
-            try (ResultSet resultset = prepareStatement.executeQuery();) {
-                if (resultset.next()) {
-                    text = resultset.getString(1);
-                }
+            return prepareStatement.executeBatch();
+        } catch (SQLException ex) {
+            evict(sql);
+            throw ex;
+        }
+    }
+
+    protected String queryForString(String sql, Object... params) throws SQLException {
+        PreparedStatement prepareStatement = prepare(sql);
+        try {
+            bind(prepareStatement, params);
+            try (ResultSet resultset = prepareStatement.executeQuery()) {
+                return resultset.next() ? resultset.getString(1) : null;
             }
+        } catch (SQLException ex) {
+            evict(sql);
+            throw ex;
         }
-        return text;
     }
 
     protected List<Object> find(String sql, RowMapper<?> rowMapper, Object... params) throws SQLException {
-
-        List<Object> list = new ArrayList<>();
-        ResultSet resultset = null;
-        PreparedStatement prepareStatement = null;
+        PreparedStatement prepareStatement = prepare(sql);
         try {
-            prepareStatement = connection.prepareStatement(sql);
             prepareStatement.setFetchSize(100);
-            if (params != null) {
-                for (int i = 0; i < params.length; i++) {
-                    if (params[i] instanceof Date) {
-                        prepareStatement.setTimestamp((i + 1), new java.sql.Timestamp(((Date) params[i]).getTime()));
-                    } else {
-                        prepareStatement.setObject((i + 1), params[i]);
-                    }
-                }
-            }
-            resultset = prepareStatement.executeQuery();
-            list = convertResultSetToRowMapper(resultset, rowMapper);
-        } finally {
-            if (prepareStatement != null) {
-                prepareStatement.close();
-            }
-            if (resultset != null) {
-                resultset.close();
+            bind(prepareStatement, params);
+            try (ResultSet resultset = prepareStatement.executeQuery()) {
+                return convertResultSetToRowMapper(resultset, rowMapper);
             }
+        } catch (SQLException ex) {
+            evict(sql);
+            throw ex;
+        }
+    }
 
+    /**
+     * Statement of the connection for a constant SQL, prepared on its first use and reused until the connection is
+     * closed. Drivers that prepare on the server once a statement is executed a few times (PostgreSQL) or keep a
+     * statement cache of their own then parse the bookkeeping queries once per deployment.
+     */
+    protected PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement prepareStatement = statements.get(sql);
+        if (prepareStatement == null) {
+            prepareStatement = connection.prepareStatement(sql);
+            statements.put(sql, prepareStatement);
+        }
+        return prepareStatement;
+    }
+
+    /**
+     * Closes the cached statements, called with the connection and after DDL changes the tables they use.
+     */
+    protected void closeStatements() {
+        for (PreparedStatement prepareStatement : statements.values()) {
+            close(prepareStatement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * A statement that failed is prepared again on its next use, it may refer to objects created since.
+     */
+    private void evict(String sql) {
+        PreparedStatement prepareStatement = statements.remove(sql);
+        if (prepareStatement != null) {
+            close(prepareStatement);
+        }
+    }
+
+    private static void close(PreparedStatement prepareStatement) {
+        try {
+            prepareStatement.close();
+        } catch (SQLException ex) {
+            log.debug("Cannot close statement: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Binds the parameters with the setter of their type, a null is bound as VARCHAR and a date as a timestamp.
+     */
+    private static void bind(PreparedStatement prepareStatement, Object[] params) throws SQLException {
+        if (params == null) {
+            return;
+        }
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            int index = i + 1;
+            if (param == null) {
+                prepareStatement.setNull(index, Types.VARCHAR);
+            } else if (param instanceof String) {
+                prepareStatement.setString(index, (String) param);
+            } else if (param instanceof Integer) {
+                prepareStatement.setInt(index, (Integer) param);
+            } else if (param instanceof Long) {
+                prepareStatement.setLong(index, (Long) param);
+            } else if (param instanceof Timestamp) {
+                prepareStatement.setTimestamp(index, (Timestamp) param);
+            } else if (param instanceof Date) {
+                prepareStatement.setTimestamp(index, new Timestamp(((Date) param).getTime()));
+            } else {
+                prepareStatement.setObject(index, param);
+            }
         }
-        return list;
     }
 
     private List<Object> convertResultSetToRowMapper(ResultSet rs, RowMapper<?> rowMapper) throws SQLException {
@@ -171,47 +299,324 @@ public abstract class AbstractDAO {
         return list;
     }
 
-    protected void executeScriptAudit(String filename) {
+    protected void executeScriptAudit(String filename) throws SQLException {
         String path = databaseType.getSchemaPath() + filename;
-        ScriptUtils.executeSqlScript(connection, new EncodedResource(new ClassPathResource(path), StandardCharsets.UTF_8));
+        InputStream in = AbstractDAO.class.getClassLoader().getResourceAsStream(path);
+        if (in == null) {
+            throw new SQLException(path + " not found on classpath");
+        }
+        executeScriptSql(new InputStreamReader(in, StandardCharsets.UTF_8), path, new ScriptOptions());
     }
 
-    protected void executeScriptSql(String filename) {
-        ScriptUtils.executeSqlScript(connection, new FileSystemResource(filename));
+    /**
+     * Opens a script file or bundle entry decoded with the charset of the options, malformed input fails the script.
+     */
+    protected Reader openScript(String filename, ScriptOptions options) throws SQLException {
+        try {
+            return Files.newBufferedReader(PathUtils.resolve(filename), Charset.forName(options.getEncoding()));
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new SQLException("Cannot read script " + filename, ex);
+        }
     }
 
-    protected void executeScriptSql(Resource resource) {
-        ScriptUtils.executeSqlScript(connection, resource);
+    protected ScriptStats executeScriptSql(String filename, ScriptOptions options) throws SQLException {
+        return executeScriptSql(openScript(filename, options), filename, options);
     }
 
-    private String evaluateDriverClass(String url) {
-        String driverClass = null;
-        if (url.startsWith(DatabaseType.ORACLE.getPrefix())) {
-            driverClass = DatabaseType.ORACLE.getDriverClass();
-        } else if (url.startsWith(DatabaseType.SQLSERVER.getPrefix())) {
-            driverClass = DatabaseType.SQLSERVER.getDriverClass();
-        } else if (url.startsWith(DatabaseType.POSTGRES.getPrefix())) {
-            driverClass = DatabaseType.POSTGRES.getDriverClass();
+    /**
+     * Executes the statements of a script as soon as each one is read, closing the reader at the end. With a batch
+     * size above 1, consecutive DML statements are sent together through addBatch/executeBatch. With a checkpoint
+     * interval on an auto-commit connection, the statements are committed every interval together with a checkpoint
+     * and the statements up to resumeFrom are skipped. With a deadline, each statement gets the time left as its query
+     * timeout and a watchdog cancels the running statement when the deadline is reached.
+     */
+    protected ScriptStats executeScriptSql(Reader script, String name, ScriptOptions options) throws SQLException {
+        return executeScriptSql(new SqlStatementReader(script, databaseType, name), name, options);
+    }
+
+    /**
+     * Executes the statements of a source, closing it at the end, as {@link #executeScriptSql(Reader, String, ScriptOptions)}.
+     */
+    protected ScriptStats executeScriptSql(SqlStatementSource statements, String name, ScriptOptions options) throws SQLException {
+        ScriptStats stats = new ScriptStats();
+        StatementProfiler profiler = new StatementProfiler(options.getProfileSize());
+        int batchSize = options.getBatchSize();
+        int interval = options.getCheckpointInterval();
+        int resumeFrom = options.getResumeFrom();
+        long deadline = options.getDeadline();
+        boolean checkpoints = beginCheckpoints(statements, interval);
+        MessageDigest digest = checkpoints ? ChecksumUtils.newDigest() : null;
+        List<SqlStatement> batch = new ArrayList<>(Math.max(batchSize, 0));
+        boolean completed = false;
+        try (SqlStatementSource reader = statements;
+             Statement statement = connection.createStatement();
+             StatementWatchdog watchdog = StatementWatchdog.watch(statement, name, deadline)) {
+            SqlStatement sql;
+            long mark = System.nanoTime();
+            while ((sql = reader.next()) != null) {
+                stats.addReadNanos(System.nanoTime() - mark);
+                if (digest != null) {
+                    digest(digest, sql);
+                }
+                if (sql.getOrdinal() <= resumeFrom) {
+                    mark = System.nanoTime();
+                    continue;
+                }
+                if (deadline != 0) {
+                    limit(statement, sql, name, deadline);
+                }
+                if (batchSize > 1 && isDml(sql.getText())) {
+                    statement.addBatch(sql.getText());
+                    batch.add(sql);
+                    if (batch.size() >= batchSize) {
+                        executeBatch(statement, batch, name, stats, profiler);
+                    }
+                } else {
+                    executeBatch(statement, batch, name, stats, profiler);
+                    executeStatement(statement, sql, name, stats, profiler);
+                }
+                if (checkpoints && sql.getOrdinal() % interval == 0) {
+                    executeBatch(statement, batch, name, stats, profiler);
+                    saveCheckpoint(name, sql.getOrdinal(), currentHash(digest));
+                    connection.commit();
+                }
+                mark = System.nanoTime();
+            }
+            stats.addReadNanos(System.nanoTime() - mark);
+            executeBatch(statement, batch, name, stats, profiler);
+            if (checkpoints) {
+                clearCheckpoint(name);
+                connection.commit();
+            }
+            completed = true;
+        } catch (ScriptStatementException ex) {
+            stats.setSlowestStatements(profiler.getSlowest());
+            ScriptStatementException failure = ex;
+            if (deadline != 0 && !(ex instanceof ScriptTimeoutException) && System.nanoTime() - deadline >= 0) {
+                // cancelled by the query timeout or the watchdog
+                failure = new ScriptTimeoutException(name, ex.getStatement(), (SQLException) ex.getCause());
+            }
+            failure.setStats(stats);
+            throw failure;
+        } catch (IOException ex) {
+            throw new SQLException("Cannot read script " + name, ex);
+        } finally {
+            if (checkpoints) {
+                endCheckpoints(name, completed);
+            }
+        }
+        stats.setSlowestStatements(profiler.getSlowest());
+        return stats;
+    }
+
+    /**
+     * Hash of the first statements of a script, as stored with a checkpoint, or null when the script has fewer
+     * statements. The reader is closed at the end.
+     */
+    protected String statementsHash(Reader script, String name, int statements) throws SQLException {
+        MessageDigest digest = ChecksumUtils.newDigest();
+        try (SqlStatementReader reader = new SqlStatementReader(script, databaseType, name)) {
+            SqlStatement sql;
+            while ((sql = reader.next()) != null) {
+                digest(digest, sql);
+                if (sql.getOrdinal() == statements) {
+                    return ChecksumUtils.toHex(digest.digest());
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new SQLException("Cannot read script " + name, ex);
+        }
+    }
+
+    /**
+     * Stores the progress of a script, called inside the transaction that commits its statements up to ordinal.
+     */
+    protected void saveCheckpoint(String name, int ordinal, String hash) throws SQLException {
+    }
+
+    /**
+     * Removes the progress of a script, called inside the transaction that commits its last statements.
+     */
+    protected void clearCheckpoint(String name) throws SQLException {
+    }
+
+    private void executeStatement(Statement statement, SqlStatement sql, String name, ScriptStats stats, StatementProfiler profiler) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            statement.execute(sql.getText());
+        } catch (SQLException ex) {
+            long elapsed = System.nanoTime() - start;
+            stats.addExecuteNanos(elapsed);
+            profiler.record(sql, elapsed, 0);
+            throw new ScriptStatementException(name, sql, ex);
         }
-        if (driverClass == null) {
-            throw new UnsupportedOperationException("Cannot determine driverClass related to connection url.\nThere is only support for the following database types: Oracle, Sql Server, Postgresql");
+        long elapsed = System.nanoTime() - start;
+        stats.addExecuteNanos(elapsed);
+        stats.addStatements(1);
+        int rows = statement.getUpdateCount();
+        if (rows > 0) {
+            stats.addRowsAffected(rows);
+        }
+        profiler.record(sql, elapsed, Math.max(rows, 0));
+    }
+
+    /**
+     * Gives the next statement the time left until the deadline as its query timeout, failing the script when none
+     * is left.
+     */
+    private static void limit(Statement statement, SqlStatement sql, String name, long deadline) throws SQLException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new ScriptTimeoutException(name, sql, new SQLTimeoutException("Script " + name + " exceeded its timeout"));
+        }
+        statement.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+    }
+
+    /**
+     * Turns auto-commit off when the script commits with checkpoints. The statements are closed if this fails, a
+     * prefetched script holds read-ahead memory until then.
+     */
+    private boolean beginCheckpoints(SqlStatementSource statements, int interval) throws SQLException {
+        try {
+            if (interval > 0 && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                return true;
+            }
+            return false;
+        } catch (SQLException ex) {
+            try {
+                statements.close();
+            } catch (IOException e) {
+                log.debug("Cannot close script: {}", e.getMessage());
+            }
+            throw ex;
         }
-        return driverClass;
+    }
+
+    private void endCheckpoints(String name, boolean completed) {
+        try {
+            if (!completed) {
+                // statements after the last checkpoint are undone, so a new execution can resume from it
+                connection.rollback();
+            }
+            connection.setAutoCommit(true);
+        } catch (SQLException ex) {
+            log.warn("Cannot restore auto-commit after script {}: {}", name, ex.getMessage());
+        }
+    }
+
+    private static void digest(MessageDigest digest, SqlStatement sql) {
+        digest.update(sql.getText().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String currentHash(MessageDigest digest) {
+        try {
+            return ChecksumUtils.toHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", ex);
+        }
+    }
+
+    /**
+     * Loads a CSV/TSV file through the {@link BulkLoader} of the engine. A load stopped by the deadline of the script
+     * fails with a {@link ScriptTimeoutException}.
+     */
+    protected ScriptStats executeBulk(String filename, ScriptOptions options) throws SQLException {
+        if (options.getTable() == null || options.getTable().trim().isEmpty()) {
+            throw new SQLException("BULK script " + filename + " requires a target table");
+        }
+        ScriptStats stats = new ScriptStats();
+        long deadline = options.getDeadline();
+        SqlStatement load = new SqlStatement(1, 1, "BULK " + options.getTable());
+        long start = System.nanoTime();
+        try {
+            long rows = BulkLoader.forType(databaseType).load(connection, PathUtils.resolve(filename), options);
+            stats.addExecuteNanos(System.nanoTime() - start);
+            stats.addStatements(1);
+            stats.addBatch();
+            if (rows > 0) {
+                stats.addRowsAffected(rows);
+            }
+        } catch (IOException ex) {
+            throw new SQLException("Cannot read bulk file " + filename, ex);
+        } catch (SQLException ex) {
+            if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                // cancelled by the timeout the loader gave to the engine
+                ScriptTimeoutException timeout = new ScriptTimeoutException(filename, load, ex);
+                stats.addExecuteNanos(System.nanoTime() - start);
+                timeout.setStats(stats);
+                throw timeout;
+            }
+            throw ex;
+        }
+        return stats;
+    }
+
+    private void executeBatch(Statement statement, List<SqlStatement> batch, String name, ScriptStats stats, StatementProfiler profiler) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int[] counts;
+        long elapsed;
+        long start = System.nanoTime();
+        try {
+            counts = statement.executeBatch();
+        } catch (BatchUpdateException ex) {
+            // drivers either stop at the failing statement or mark it as EXECUTE_FAILED
+            int[] partial = ex.getUpdateCounts() == null ? new int[0] : ex.getUpdateCounts();
+            int failed = partial.length;
+            for (int i = 0; i < partial.length; i++) {
+                if (partial[i] == Statement.EXECUTE_FAILED) {
+                    failed = i;
+                    break;
+                }
+            }
+            SqlStatement sql = batch.get(Math.min(failed, batch.size() - 1));
+            SQLException cause = ex.getNextException() != null ? ex.getNextException() : ex;
+            throw new ScriptStatementException(name, sql, cause);
+        } finally {
+            elapsed = System.nanoTime() - start;
+            stats.addExecuteNanos(elapsed);
+            statement.clearBatch();
+        }
+        long rows = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                rows += count;
+            }
+        }
+        stats.addStatements(batch.size());
+        stats.addRowsAffected(rows);
+        stats.addBatch();
+        profiler.recordBatch(batch, elapsed, rows);
+        log.debug("Batch of {} statements from #{} of script {} affected {} rows", batch.size(), batch.get(0).getOrdinal(), name, rows);
+        batch.clear();
+    }
+
+    private static boolean isDml(String sql) {
+        int end = 0;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        switch (sql.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "INSERT":
+            case "UPDATE":
+            case "DELETE":
+            case "MERGE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private String evaluateDriverClass(String url) {
+        return DatabaseType.fromUrl(url).getDriverClass();
     }
 
     private DatabaseType evaluateType(String url) {
-        DatabaseType databaseTypeLocal = null;
-        if (url.startsWith(DatabaseType.ORACLE.getPrefix())) {
-            databaseTypeLocal = DatabaseType.ORACLE;
-        } else if (url.startsWith(DatabaseType.SQLSERVER.getPrefix())) {
-            databaseTypeLocal = DatabaseType.SQLSERVER;
-        } else if (url.startsWith(DatabaseType.POSTGRES.getPrefix())) {
-            databaseTypeLocal = DatabaseType.POSTGRES;
-        }
-        if (databaseTypeLocal == null) {
-            throw new UnsupportedOperationException("Cannot determine data type related to connection url.\nThere is only support for the following database types: Oracle, Sql Server, Postgresql");
-        }
-        return databaseTypeLocal;
+        return DatabaseType.fromUrl(url);
     }
 
 }
@@ -0,0 +1,86 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels the statement of a script when the script reaches its deadline, for drivers that do not enforce the query
+ * timeout and for statements started just before the deadline. One daemon thread serves every script of the JVM.
+ */
+@Slf4j
+class StatementWatchdog implements AutoCloseable {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final ScheduledFuture<?> task;
+
+    private StatementWatchdog(ScheduledFuture<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * Watches a statement until the watchdog is closed, a deadline of 0 is not watched.
+     */
+    static StatementWatchdog watch(Statement statement, String script, long deadline) {
+        if (deadline == 0) {
+            return new StatementWatchdog(null);
+        }
+        long delay = Math.max(0, deadline - System.nanoTime());
+        return new StatementWatchdog(TIMER.schedule(() -> cancel(statement, script), delay, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void close() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private static void cancel(Statement statement, String script) {
+        log.warn("Script {} reached its deadline, its statement is cancelled", script);
+        try {
+            statement.cancel();
+        } catch (SQLException ex) {
+            log.warn("The statement of script {} could not be cancelled: {}", script, ex.getMessage());
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deploysql-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+}
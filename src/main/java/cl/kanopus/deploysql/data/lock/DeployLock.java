@@ -0,0 +1,59 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.lock;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Session level lock of the database engine that lets a single node deploy at a time. The lock belongs to the
+ * connection that acquired it and is released explicitly or when that session ends.
+ */
+public interface DeployLock {
+
+    /**
+     * Returns false when the lock could not be acquired within the timeout.
+     */
+    boolean acquire(Connection connection, String name, int timeoutSeconds) throws SQLException;
+
+    void release(Connection connection, String name) throws SQLException;
+
+    static DeployLock forType(DatabaseType databaseType) {
+        switch (databaseType) {
+            case POSTGRES:
+                return new PostgresDeployLock();
+            case SQLSERVER:
+                return new SqlServerDeployLock();
+            case ORACLE:
+                return new OracleDeployLock();
+            case H2:
+                return new EmbeddedDeployLock();
+            default:
+                throw new UnsupportedOperationException("Deploy locks are not supported for " + databaseType);
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.lock;
+
+import java.sql.Connection;
+
+/**
+ * H2 has no advisory locks and an embedded database is not shared between nodes, the lock is always granted.
+ */
+public class EmbeddedDeployLock implements DeployLock {
+
+    @Override
+    public boolean acquire(Connection connection, String name, int timeoutSeconds) {
+        return true;
+    }
+
+    @Override
+    public void release(Connection connection, String name) {
+        // nothing to release
+    }
+
+}
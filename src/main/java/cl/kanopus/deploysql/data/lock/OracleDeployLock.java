@@ -0,0 +1,82 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.lock;
+
+import cl.kanopus.deploysql.application.utils.ChecksumUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Exclusive user lock of DBMS_LOCK kept until it is released or the session ends, the deploying user needs the
+ * EXECUTE privilege on DBMS_LOCK. ALLOCATE_UNIQUE commits, so the lock is taken before any work of the deployment.
+ * The lock name is a fixed prefix and the SHA-256 of the name, ALLOCATE_UNIQUE takes at most 128 bytes.
+ */
+public class OracleDeployLock implements DeployLock {
+
+    private static final int MAX_WAIT_SECONDS = 32767;
+    private static final String LOCK_PREFIX = "KANOPUS_DEPLOYSQL_";
+
+    private static final String SQL_REQUEST = "DECLARE handle VARCHAR2(128); BEGIN DBMS_LOCK.ALLOCATE_UNIQUE(?, handle); "
+            + "? := DBMS_LOCK.REQUEST(handle, DBMS_LOCK.X_MODE, ?, FALSE); END;";
+    private static final String SQL_RELEASE = "DECLARE handle VARCHAR2(128); BEGIN DBMS_LOCK.ALLOCATE_UNIQUE(?, handle); "
+            + "? := DBMS_LOCK.RELEASE(handle); END;";
+
+    @Override
+    public boolean acquire(Connection connection, String name, int timeoutSeconds) throws SQLException {
+        try (CallableStatement statement = connection.prepareCall(SQL_REQUEST)) {
+            statement.setString(1, lockName(name));
+            statement.registerOutParameter(2, Types.INTEGER);
+            statement.setInt(3, Math.min(timeoutSeconds, MAX_WAIT_SECONDS));
+            statement.execute();
+            int result = statement.getInt(2);
+            switch (result) {
+                case 0:
+                case 4: // already owned by this session
+                    return true;
+                case 1:
+                    return false;
+                default:
+                    throw new SQLException("DBMS_LOCK.REQUEST failed with code " + result);
+            }
+        }
+    }
+
+    @Override
+    public void release(Connection connection, String name) throws SQLException {
+        try (CallableStatement statement = connection.prepareCall(SQL_RELEASE)) {
+            statement.setString(1, lockName(name));
+            statement.registerOutParameter(2, Types.INTEGER);
+            statement.execute();
+        }
+    }
+
+    static String lockName(String name) {
+        return LOCK_PREFIX + ChecksumUtils.toHex(ChecksumUtils.newDigest().digest(name.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
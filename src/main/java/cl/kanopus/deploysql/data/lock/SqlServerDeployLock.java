@@ -0,0 +1,63 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.lock;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Exclusive application lock owned by the session, sp_getapplock returns a negative code when it is not granted.
+ */
+public class SqlServerDeployLock implements DeployLock {
+
+    @Override
+    public boolean acquire(Connection connection, String name, int timeoutSeconds) throws SQLException {
+        try (CallableStatement statement = connection.prepareCall("{? = call sp_getapplock(?, ?, ?, ?)}")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setString(2, name);
+            statement.setString(3, "Exclusive");
+            statement.setString(4, "Session");
+            statement.setInt(5, (int) Math.min(Integer.MAX_VALUE, timeoutSeconds * 1000L));
+            statement.execute();
+            int result = statement.getInt(1);
+            if (result < -1) {
+                throw new SQLException("sp_getapplock failed with code " + result);
+            }
+            return result >= 0;
+        }
+    }
+
+    @Override
+    public void release(Connection connection, String name) throws SQLException {
+        try (CallableStatement statement = connection.prepareCall("{? = call sp_releaseapplock(?, ?)}")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setString(2, name);
+            statement.setString(3, "Session");
+            statement.execute();
+        }
+    }
+
+}
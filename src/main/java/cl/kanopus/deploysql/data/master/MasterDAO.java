@@ -23,19 +23,58 @@
  */
 package cl.kanopus.deploysql.data.master;
 
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptStats;
+import cl.kanopus.deploysql.data.script.StatementProfile;
+
+import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.List;
 
 public interface MasterDAO {
 
     void openConnection(String label, String user, String password, String url) throws SQLException;
 
+    void openConnection(String label, DataSource dataSource) throws SQLException;
+
     void closeConnection() throws SQLException;
 
+    void openAuditConnection(String label, DataSource dataSource) throws SQLException;
+
     void createSchema() throws SQLException;
 
-    boolean saveCatalog(String type, String label, String scriptName, boolean onetime) throws SQLException;
+    boolean acquireDeployLock(String label, int timeoutSeconds) throws SQLException;
+
+    void releaseDeployLock() throws SQLException;
+
+    String findFingerprint(String label);
+
+    void saveFingerprint(String label, String fingerprint, int scripts) throws SQLException;
+
+    void clearFingerprint(String label) throws SQLException;
+
+    void loadCatalogState() throws SQLException;
+
+    void compactHistory(int retentionDays) throws SQLException;
+
+    boolean saveCatalog(String type, String label, String scriptName, boolean onetime, String checksum) throws SQLException;
+
+    void prefetch(String type, String filename, ScriptOptions options);
+
+    ScriptStats executeScript(String type, String filename, ScriptOptions options) throws SQLException;
+
+    void saveCatalogExecution(String filename, String success, long timeExecution, String string, List<StatementProfile> profile) throws SQLException;
+
+    void flush() throws SQLException;
+
+    void beginTransaction() throws SQLException;
+
+    void commit() throws SQLException;
+
+    void rollback() throws SQLException;
 
-    void executeScript(String type, String filename) throws SQLException;
+    Savepoint setSavepoint() throws SQLException;
 
-    void saveCatalogExecution(String filename, String success, long timeExecution, String string) throws SQLException;
+    void rollback(Savepoint savepoint) throws SQLException;
 }
@@ -0,0 +1,88 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.master.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class CatalogScript implements Serializable {
+
+    private static final long serialVersionUID = -2795135436409950417L;
+
+    private String catalogId;
+    private String filename;
+    private boolean onetime;
+    private String checksum;
+    private String lastStatus;
+    private Date lastSuccessDate;
+
+    public String getCatalogId() {
+        return catalogId;
+    }
+
+    public void setCatalogId(String catalogId) {
+        this.catalogId = catalogId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public boolean isOnetime() {
+        return onetime;
+    }
+
+    public void setOnetime(boolean onetime) {
+        this.onetime = onetime;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getLastStatus() {
+        return lastStatus;
+    }
+
+    public void setLastStatus(String lastStatus) {
+        this.lastStatus = lastStatus;
+    }
+
+    public Date getLastSuccessDate() {
+        return lastSuccessDate;
+    }
+
+    public void setLastSuccessDate(Date lastSuccessDate) {
+        this.lastSuccessDate = lastSuccessDate;
+    }
+
+}
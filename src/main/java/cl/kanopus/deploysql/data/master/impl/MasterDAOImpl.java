@@ -23,18 +23,38 @@
  */
 package cl.kanopus.deploysql.data.master.impl;
 
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import cl.kanopus.deploysql.application.utils.CatalogUtils;
+import cl.kanopus.deploysql.data.audit.AuditWriter;
 import cl.kanopus.deploysql.data.impl.AbstractDAO;
+import cl.kanopus.deploysql.data.lock.DeployLock;
 import cl.kanopus.deploysql.data.master.MasterDAO;
+import cl.kanopus.deploysql.data.master.entity.CatalogScript;
+import cl.kanopus.deploysql.data.script.FunctionBodyReader;
+import cl.kanopus.deploysql.data.script.PrefetchedScript;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptPrefetcher;
+import cl.kanopus.deploysql.data.script.ScriptPreprocessor;
+import cl.kanopus.deploysql.data.script.ScriptStats;
+import cl.kanopus.deploysql.data.script.SqlStatementReader;
+import cl.kanopus.deploysql.data.script.SqlStatementSource;
+import cl.kanopus.deploysql.data.script.StatementProfile;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import javax.sql.DataSource;
+import java.io.Reader;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -45,159 +65,624 @@ import java.util.UUID;
 @Slf4j
 public class MasterDAOImpl extends AbstractDAO implements MasterDAO {
 
+    private static final String SQL_INSERT_CATALOG = "INSERT INTO catalog_script_sql (catalog_id, object_type, label, filename, one_time) VALUES (?,?,?,?,?)";
+    private static final String SQL_UPDATE_CATALOG = "UPDATE catalog_script_sql SET one_time = ? WHERE filename = ? ";
+    private static final String SQL_SELECT_CATALOG = "SELECT catalog_id, filename, one_time, checksum, last_status, last_success_date FROM catalog_script_sql ";
+    private static final String SQL_SELECT_CATALOG_BY_FILENAME = SQL_SELECT_CATALOG + "WHERE filename = ? ";
+    private static final String SQL_SELECT_CATALOG_ID = "SELECT catalog_id FROM catalog_script_sql WHERE filename = ? ";
+    private static final String SQL_UPDATE_CATALOG_SUCCESS = "UPDATE catalog_script_sql SET checksum = ?, last_status = ?, last_execution_date = ?, last_success_date = ? WHERE catalog_id = ? ";
+    private static final String SQL_UPDATE_CATALOG_STATUS = "UPDATE catalog_script_sql SET checksum = NULL, last_status = ?, last_execution_date = ? WHERE catalog_id = ? ";
+    private static final String SQL_INSERT_CATALOG_EXECUTION = "INSERT INTO catalog_script_sql_execution (execution_id, catalog_id, execution_date, miliseconds, status, exit_message) VALUES (?, ?, ?, ? , ?, ? )";
+    private static final String SQL_SELECT_CHECKPOINT = "SELECT statement_ordinal, content_hash FROM catalog_script_sql_checkpoint WHERE catalog_id = ? ";
+    private static final String SQL_UPDATE_CHECKPOINT = "UPDATE catalog_script_sql_checkpoint SET statement_ordinal = ?, content_hash = ?, checkpoint_date = ? WHERE catalog_id = ? ";
+    private static final String SQL_INSERT_CHECKPOINT = "INSERT INTO catalog_script_sql_checkpoint (catalog_id, statement_ordinal, content_hash, checkpoint_date) VALUES (?, ?, ?, ?)";
+    private static final String SQL_DELETE_CHECKPOINT = "DELETE FROM catalog_script_sql_checkpoint WHERE catalog_id = ? ";
+    private static final String SQL_INSERT_CATALOG_PROFILE = "INSERT INTO catalog_script_sql_profile (execution_id, catalog_id, statement_ordinal, line_number, nanoseconds, rows_affected, statement_text) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_SELECT_FINGERPRINT = "SELECT fingerprint FROM catalog_script_sql_deploy WHERE label = ? ";
+    private static final String SQL_UPDATE_FINGERPRINT = "UPDATE catalog_script_sql_deploy SET fingerprint = ?, scripts = ?, deploy_date = ? WHERE label = ? ";
+    private static final String SQL_INSERT_FINGERPRINT = "INSERT INTO catalog_script_sql_deploy (label, fingerprint, scripts, deploy_date) VALUES (?, ?, ?, ?)";
+    private static final String SQL_DELETE_FINGERPRINT = "DELETE FROM catalog_script_sql_deploy WHERE label = ? ";
+    private static final String SQL_SELECT_SCHEMA_VERSION = "SELECT max(schema_version) FROM catalog_script_sql_version";
+    private static final String SQL_INSERT_SCHEMA_VERSION = "INSERT INTO catalog_script_sql_version (schema_version, applied_date) VALUES (?, ?)";
+    private static final String SQL_INSERT_ROLLUP = "INSERT INTO catalog_script_sql_rollup (catalog_id, status, period_start, period_end, executions, total_miliseconds, min_miliseconds, max_miliseconds) "
+            + "SELECT catalog_id, status, min(execution_date), max(execution_date), count(*), %s, min(miliseconds), max(miliseconds) "
+            + "FROM catalog_script_sql_execution WHERE execution_date < ? GROUP BY catalog_id, status";
+    private static final String SQL_DELETE_PROFILE_HISTORY = "DELETE FROM catalog_script_sql_profile WHERE execution_id IN (SELECT execution_id FROM catalog_script_sql_execution WHERE execution_date < ?)";
+    private static final String SQL_DELETE_EXECUTION_HISTORY = "DELETE FROM catalog_script_sql_execution WHERE execution_date < ?";
+
+    /**
+     * Upgrade scripts of the tracking schema, the position of each one is the schema version it leads to.
+     */
+    private static final String[] SCHEMA_SCRIPTS = {
+        "001_TABLE_CATALOG_SCRIPT_SQL.SQL",
+        "002_TABLE_CATALOG_SCRIPT_SQL_EXECUTION.SQL",
+        "003_ALTER_CATALOG_SCRIPT_SQL_CHECKSUM.SQL",
+        "004_ALTER_CATALOG_SCRIPT_SQL_EXECUTION_ID.SQL",
+        "005_TABLE_CATALOG_SCRIPT_SQL_PROFILE.SQL",
+        "006_TABLE_CATALOG_SCRIPT_SQL_CHECKPOINT.SQL",
+        "007_TABLE_CATALOG_SCRIPT_SQL_VERSION.SQL",
+        "008_ALTER_CATALOG_SCRIPT_SQL_LAST_STATUS.SQL",
+        "009_TABLE_CATALOG_SCRIPT_SQL_ROLLUP.SQL",
+        "010_TABLE_CATALOG_SCRIPT_SQL_DEPLOY.SQL",
+        "011_ALTER_CATALOG_SCRIPT_SQL_EXECUTION_STATUS.SQL",
+        "012_ALTER_CATALOG_SCRIPT_SQL_EXECUTION_PK.SQL"
+    };
+
+    private static final String DEPLOY_LOCK = "cl.kanopus.deploysql";
+
+    /**
+     * Table and column created by each script up to the version table, used to recognise older schemas.
+     */
+    private static final String[][] SCHEMA_PROBES = {
+        {"CATALOG_SCRIPT_SQL", "CATALOG_ID"},
+        {"CATALOG_SCRIPT_SQL_EXECUTION", "CATALOG_ID"},
+        {"CATALOG_SCRIPT_SQL", "CHECKSUM"},
+        {"CATALOG_SCRIPT_SQL_EXECUTION", "EXECUTION_ID"},
+        {"CATALOG_SCRIPT_SQL_PROFILE", "EXECUTION_ID"},
+        {"CATALOG_SCRIPT_SQL_CHECKPOINT", "CATALOG_ID"},
+        {"CATALOG_SCRIPT_SQL_VERSION", "SCHEMA_VERSION"}
+    };
+
+    private final DeployConfig config;
+    private final List<Object[]> pendingCatalogInserts = new ArrayList<>();
+    private final List<Object[]> pendingCatalogUpdates = new ArrayList<>();
+    private final List<Object[]> pendingSuccesses = new ArrayList<>();
+    private final List<Object[]> pendingStatuses = new ArrayList<>();
+    private final List<Object[]> pendingExecutions = new ArrayList<>();
+    private final List<Object[]> pendingProfiles = new ArrayList<>();
+    private final Map<String, String> checksums = new HashMap<>();
+    private Map<String, CatalogScript> catalogIndex = null;
+    private AuditWriter auditWriter = null;
+    private String checkpointId = null;
+    private SQLException flushFailure = null;
+    private DeployLock deployLock = null;
+    private String deployLockName = null;
+    private ScriptPrefetcher prefetcher = null;
+    private final Map<String, PrefetchedScript> prefetched = new LinkedHashMap<>();
+
+    public MasterDAOImpl() {
+        this(new DeployConfig());
+    }
+
+    public MasterDAOImpl(DeployConfig config) {
+        this.config = config;
+    }
+
     @Override
     public void openConnection(String label, String user, String password, String jdbcUrl) throws SQLException {
-        Integer timeout = 30;
+        Integer timeout = config.getLoginTimeout();
         log.debug("[{}] Getting connection to database --> user:[{}],  timeout: [{}], url: [{}]", label, user, timeout, jdbcUrl);
         openConnection(jdbcUrl, user, password, timeout);
     }
 
     @Override
-    public void createSchema() throws SQLException {
+    public void openConnection(String label, DataSource dataSource) throws SQLException {
+        log.debug("[{}] Getting connection to database from datasource: [{}]", label, dataSource);
+        openConnection(dataSource);
+    }
 
-        if (!existTableCatalogScript()) {
-            createTableCatalogScript();
-            log.info("schema catalog scripts table has been created successfully");
+    /**
+     * Hands the tracking writes over to a background writer on its own connection, the catalog state must be loaded.
+     */
+    @Override
+    public void openAuditConnection(String label, DataSource dataSource) throws SQLException {
+        if (catalogIndex == null) {
+            log.info("[{}] Asynchronous tracking requires the catalog snapshot, records are written synchronously", label);
+            return;
+        }
+        flush();
+        AuditWriter writer = new AuditWriter(label, config.getAuditQueueSize(), config.getTrackingBatchSize());
+        writer.start(dataSource);
+        auditWriter = writer;
+    }
+
+    /**
+     * Locks the catalog of the database label in the current schema, so deployments of other labels, schemas or
+     * tenants on the same server do not wait for each other.
+     */
+    @Override
+    public boolean acquireDeployLock(String label, int timeoutSeconds) throws SQLException {
+        DeployLock lock = DeployLock.forType(databaseType);
+        String name = deployLockName(label, currentSchema());
+        if (!lock.acquire(connection, name, timeoutSeconds)) {
+            return false;
         }
-        if (!existTableCatalogExecution()) {
-            createTableCatalogExecution();
-            log.info("schema catalog execution table has been created successfully");
+        deployLock = lock;
+        deployLockName = name;
+        return true;
+    }
+
+    @Override
+    public void releaseDeployLock() throws SQLException {
+        if (deployLock != null) {
+            try {
+                deployLock.release(connection, deployLockName);
+            } finally {
+                deployLock = null;
+                deployLockName = null;
+            }
         }
+    }
+
+    static String deployLockName(String label, String schema) {
+        return DEPLOY_LOCK + ":" + label + ":" + (schema == null ? "" : schema.toUpperCase());
+    }
 
+    private String currentSchema() {
+        try {
+            return connection.getSchema();
+        } catch (SQLException ex) {
+            log.debug("The current schema is not available: {}", ex.getMessage());
+            return null;
+        }
     }
 
+    /**
+     * Fingerprint of the catalog recorded by the last fully successful deployment, null when there is none or the
+     * tracking schema does not exist yet.
+     */
     @Override
-    public boolean saveCatalog(String type, String objectname, String filename, boolean onetime) throws SQLException {
-        boolean execute = false;
+    public String findFingerprint(String label) {
         try {
-            if (!existFileNameExecuted(filename)) {
-                String catalogId = (new Date()).getTime() + "_" + UUID.randomUUID();
-                insertCatalog(catalogId, type, objectname, filename, onetime);
-                execute = true;
-            } else {
-                updateCatalog(filename, onetime);
-                if (!onetime || !existFileNameExecutedSuccess(filename)) {
-                    execute = true;
-                }
-            }
+            return queryForString(SQL_SELECT_FINGERPRINT, label);
         } catch (SQLException ex) {
-            log.error("Error save catalog: {} ", ex.getMessage());
+            log.debug("[{}] Catalog fingerprint not available: {}", label, ex.getMessage());
+            return null;
         }
-        return execute;
     }
 
     @Override
-    public void saveCatalogExecution(String filename, String status, long timeExecution, String messageError) throws SQLException {
+    public void saveFingerprint(String label, String fingerprint, int scripts) throws SQLException {
+        Date now = new Date();
+        if (execute(SQL_UPDATE_FINGERPRINT, fingerprint, scripts, now, label) == 0) {
+            execute(SQL_INSERT_FINGERPRINT, label, fingerprint, scripts, now);
+        }
+    }
+
+    @Override
+    public void clearFingerprint(String label) throws SQLException {
+        execute(SQL_DELETE_FINGERPRINT, label);
+    }
+
+    @Override
+    public void createSchema() throws SQLException {
+        int version = schemaVersion();
+        for (int i = version; i < SCHEMA_SCRIPTS.length; i++) {
+            executeScriptAudit(SCHEMA_SCRIPTS[i]);
+            if (i >= SCHEMA_PROBES.length - 1) {
+                execute(SQL_INSERT_SCHEMA_VERSION, i + 1, new Date());
+            }
+            log.info("schema catalog has been upgraded to version {} with {}", i + 1, SCHEMA_SCRIPTS[i]);
+        }
+        if (version < SCHEMA_SCRIPTS.length) {
+            // statements prepared against the previous schema are not reused
+            closeStatements();
+        }
+    }
+
+    /**
+     * Current version of the tracking schema, read from the version table or recognised from the objects of the
+     * schemas created before it.
+     */
+    private int schemaVersion() {
         try {
-            String catalogId = getCatalogId(filename);
-            insertCatalogExecution(catalogId, timeExecution, status, messageError);
+            int version = queryForInt(SQL_SELECT_SCHEMA_VERSION);
+            if (version > 0) {
+                return version;
+            }
         } catch (SQLException ex) {
-            log.error("Error save Catalog execution ", ex);
+            log.debug("schema catalog has no version table: {}", ex.getMessage());
         }
+        for (int i = 0; i < SCHEMA_PROBES.length; i++) {
+            if (!existColumn(SCHEMA_PROBES[i][0], SCHEMA_PROBES[i][1])) {
+                return i;
+            }
+        }
+        return SCHEMA_PROBES.length;
     }
 
+    /**
+     * Replaces the executions older than the retention with one rollup per script and status holding their count and
+     * durations, together with their statement profiles.
+     */
     @Override
-    public void executeScript(String type, String filename) {
+    public void compactHistory(int retentionDays) throws SQLException {
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        String total = databaseType == DatabaseType.SQLSERVER ? "sum(CAST(miliseconds AS bigint))" : "sum(miliseconds)";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            int rollups = execute(String.format(SQL_INSERT_ROLLUP, total), cutoff);
+            if (rollups > 0) {
+                execute(SQL_DELETE_PROFILE_HISTORY, cutoff);
+                int executions = execute(SQL_DELETE_EXECUTION_HISTORY, cutoff);
+                log.info("{} executions older than {} days have been compacted into {} rollups", executions, retentionDays, rollups);
+            }
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
 
-        if ("FUNCTION".equalsIgnoreCase(type)) {
+    @Override
+    public void closeConnection() throws SQLException {
+        try {
+            if (auditWriter != null) {
+                auditWriter.close();
+            } else if (connection != null) {
+                flush();
+            }
+        } finally {
             try {
-                Resource resource = new FileSystemResource(filename);
-                BufferedReader br = new BufferedReader(new InputStreamReader(resource.getInputStream()));
-                StringBuilder stringBuilder = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    stringBuilder.append(line).append('\n');
-                }
-                br.close();
-                String body = stringBuilder.toString();
-                body = body.replaceAll("'", "''");
-                body = body.replaceAll("\\$BODY\\$", "'");
+                // released once the tracking records are written, so the next node sees them
+                releaseDeployLock();
+            } catch (SQLException ex) {
+                log.warn("The deploy lock could not be released: {}", ex.getMessage());
+            }
+            closePrefetcher();
+            auditWriter = null;
+            flushFailure = null;
+            catalogIndex = null;
+            checksums.clear();
+            super.closeConnection();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (auditWriter != null) {
+            auditWriter.flush();
+            return;
+        }
+        int pending = pendingCount();
+        if (pending > 0) {
+            // order matters: executions reference catalog rows through CATALOG_ID
+            flushBatch(SQL_INSERT_CATALOG, pendingCatalogInserts);
+            flushBatch(SQL_UPDATE_CATALOG, pendingCatalogUpdates);
+            flushBatch(SQL_UPDATE_CATALOG_SUCCESS, pendingSuccesses);
+            flushBatch(SQL_UPDATE_CATALOG_STATUS, pendingStatuses);
+            flushBatch(SQL_INSERT_CATALOG_EXECUTION, pendingExecutions);
+            flushBatch(SQL_INSERT_CATALOG_PROFILE, pendingProfiles);
+            log.debug("{} tracking records have been flushed", pending);
+        }
+        // a lost tracking record fails every flush that follows it, so the deployment cannot end as successful
+        if (flushFailure != null) {
+            throw new SQLException("Tracking records could not be written: " + flushFailure.getMessage(), flushFailure);
+        }
+    }
+
+    /**
+     * Writes the pending tracking records inside the current transaction before committing it.
+     */
+    @Override
+    public void commit() throws SQLException {
+        flush();
+        super.commit();
+    }
+
+    /**
+     * Discards the pending tracking records together with the current transaction.
+     */
+    @Override
+    public void rollback() throws SQLException {
+        pendingCatalogInserts.clear();
+        pendingCatalogUpdates.clear();
+        pendingSuccesses.clear();
+        pendingStatuses.clear();
+        pendingExecutions.clear();
+        pendingProfiles.clear();
+        super.rollback();
+    }
+
+    private void flushBatch(String sql, List<Object[]> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            writeBatch(sql, pending);
+        } catch (SQLException ex) {
+            log.error("Error writing tracking records: {} ", ex.getMessage());
+            if (flushFailure == null) {
+                flushFailure = ex;
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    private int pendingCount() {
+        return pendingCatalogInserts.size() + pendingCatalogUpdates.size() + pendingSuccesses.size() + pendingStatuses.size() + pendingExecutions.size() + pendingProfiles.size();
+    }
+
+    private boolean isDeferred() {
+        return catalogIndex != null && config.getTrackingBatchSize() > 1;
+    }
 
-                executeScriptSql(new ByteArrayResource(body.getBytes()));
-            } catch (Exception ex) {
-                throw new RuntimeException(ex.getMessage(), ex);
+    private void write(String sql, List<Object[]> pending, Object... params) throws SQLException {
+        if (auditWriter != null) {
+            auditWriter.submit(sql, params);
+        } else if (isDeferred()) {
+            pending.add(params);
+            if (pendingCount() >= config.getTrackingBatchSize()) {
+                flush();
             }
         } else {
-            executeScriptSql(filename);
+            execute(sql, params);
         }
     }
 
-    private boolean existTableCatalogScript() throws SQLException {
-        boolean exist;
+    @Override
+    public void loadCatalogState() throws SQLException {
+        List<Object> records = find(SQL_SELECT_CATALOG, MasterDAOImpl::mapCatalogScript);
+
+        Map<String, CatalogScript> index = new HashMap<>(records.size() * 2);
+        for (Object record : records) {
+            CatalogScript catalogScript = (CatalogScript) record;
+            index.put(catalogScript.getFilename(), catalogScript);
+        }
+        catalogIndex = index;
+        log.debug("Catalog state has been loaded with {} scripts", index.size());
+    }
+
+    private static CatalogScript mapCatalogScript(ResultSet rs, int i) throws SQLException {
+        CatalogScript catalogScript = new CatalogScript();
+        catalogScript.setCatalogId(rs.getString("catalog_id"));
+        catalogScript.setFilename(rs.getString("filename"));
+        catalogScript.setOnetime("1".equals(rs.getString("one_time")));
+        catalogScript.setChecksum(rs.getString("checksum"));
+        catalogScript.setLastStatus(rs.getString("last_status"));
+        catalogScript.setLastSuccessDate(rs.getTimestamp("last_success_date"));
+        return catalogScript;
+    }
+
+    @Override
+    public boolean saveCatalog(String type, String objectname, String filename, boolean onetime, String checksum) throws SQLException {
+        if (checksum != null) {
+            checksums.put(filename.toUpperCase(), checksum);
+        }
+        if (catalogIndex != null) {
+            return saveCatalogFromIndex(type, objectname, filename, onetime, checksum);
+        }
+        CatalogScript catalogScript = findCatalogScript(filename);
+        if (catalogScript == null) {
+            String catalogId = (new Date()).getTime() + "_" + UUID.randomUUID();
+            insertCatalog(catalogId, type, objectname, filename, onetime);
+            return true;
+        }
+        updateCatalog(filename, onetime);
+        return isPending(filename, onetime, catalogScript.getLastSuccessDate() != null, catalogScript.getChecksum(), checksum);
+    }
+
+    private boolean saveCatalogFromIndex(String type, String objectname, String filename, boolean onetime, String checksum) throws SQLException {
+        CatalogScript catalogScript = catalogIndex.get(filename.toUpperCase());
+        if (catalogScript == null) {
+            String catalogId = (new Date()).getTime() + "_" + UUID.randomUUID();
+            insertCatalog(catalogId, type, objectname, filename, onetime);
+            catalogScript = new CatalogScript();
+            catalogScript.setCatalogId(catalogId);
+            catalogScript.setFilename(filename.toUpperCase());
+            catalogScript.setOnetime(onetime);
+            catalogIndex.put(catalogScript.getFilename(), catalogScript);
+            return true;
+        }
+        if (catalogScript.isOnetime() != onetime) {
+            updateCatalog(filename, onetime);
+            catalogScript.setOnetime(onetime);
+        }
+        return isPending(filename, onetime, catalogScript.getLastSuccessDate() != null, catalogScript.getChecksum(), checksum);
+    }
+
+    /**
+     * Onetime scripts run until they succeed once. Repeatable scripts run when their content differs from the last
+     * successful execution, the stored checksum is cleared whenever an execution fails.
+     */
+    private boolean isPending(String filename, boolean onetime, boolean executedSuccess, String storedChecksum, String checksum) {
+        if (onetime) {
+            if (executedSuccess && storedChecksum != null && checksum != null && !storedChecksum.equals(checksum)) {
+                log.warn("The onetime script {} has been modified after its execution, the changes will not be applied", filename);
+            }
+            return !executedSuccess;
+        }
+        return config.isRerunUnchanged() || checksum == null || !checksum.equals(storedChecksum);
+    }
+
+    @Override
+    public void saveCatalogExecution(String filename, String status, long timeExecution, String messageError, List<StatementProfile> profile) throws SQLException {
+        CatalogScript catalogScript = (catalogIndex == null) ? null : catalogIndex.get(filename.toUpperCase());
+        boolean success = "SUCCESS".equalsIgnoreCase(status);
+        // a onetime script that ran must be durably recorded before anything else runs, or the deployment fails
+        boolean durable = success && catalogScript != null && catalogScript.isOnetime();
         try {
-            super.queryForInt("SELECT count(*) FROM CATALOG_SCRIPT_SQL");
-            exist = true;
-        } catch (Exception ex) {
-            exist = false;
+            String catalogId = (catalogScript == null) ? getCatalogId(filename) : catalogScript.getCatalogId();
+            String executionId = (new Date()).getTime() + "_" + UUID.randomUUID();
+            insertCatalogExecution(executionId, catalogId, timeExecution, status, messageError);
+            if (profile != null) {
+                for (StatementProfile statement : profile) {
+                    write(SQL_INSERT_CATALOG_PROFILE, pendingProfiles, executionId, catalogId, statement.getOrdinal(), statement.getLine(),
+                            statement.getNanos(), statement.getRowsAffected(), statement.getText());
+                }
+            }
+            String checksum = success ? checksums.get(filename.toUpperCase()) : null;
+            Date now = new Date();
+            if (success) {
+                write(SQL_UPDATE_CATALOG_SUCCESS, pendingSuccesses, checksum, status.toUpperCase(), now, now, catalogId);
+            } else {
+                write(SQL_UPDATE_CATALOG_STATUS, pendingStatuses, status.toUpperCase(), now, catalogId);
+            }
+            if (catalogScript != null) {
+                catalogScript.setChecksum(checksum);
+                catalogScript.setLastStatus(status.toUpperCase());
+                if (success) {
+                    catalogScript.setLastSuccessDate(now);
+                }
+            }
+            if (durable) {
+                flush();
+            }
+        } catch (SQLException ex) {
+            if (durable) {
+                throw ex;
+            }
+            log.error("Error save Catalog execution ", ex);
         }
-        return exist;
     }
 
-    private void createTableCatalogScript() {
-        executeScriptAudit("001_TABLE_CATALOG_SCRIPT_SQL.SQL");
+    /**
+     * Starts reading and splitting a script that is expected to run after the current one, when read-ahead is enabled.
+     * Scripts must be prefetched in the order they are executed.
+     */
+    @Override
+    public void prefetch(String type, String filename, ScriptOptions options) {
+        if (config.getReadAhead() <= 0 || "BULK".equalsIgnoreCase(type) || prefetched.containsKey(filename)) {
+            return;
+        }
+        if (prefetcher == null) {
+            prefetcher = new ScriptPrefetcher(databaseType, config.getReadAheadBuffer());
+        }
+        prefetched.put(filename, prefetcher.submit(filename, () -> openScriptReader(type, filename, options)));
     }
 
-    private boolean existTableCatalogExecution() throws SQLException {
-        boolean exist;
+    @Override
+    public ScriptStats executeScript(String type, String filename, ScriptOptions options) throws SQLException {
+
+        if ("BULK".equalsIgnoreCase(type)) {
+            return executeBulk(filename, options);
+        }
+        if (options.getCheckpointInterval() <= 0) {
+            return executeScriptSql(openStatements(type, filename, options), filename, options);
+        }
+        // the checkpoint references the catalog row, which may still be waiting in the tracking records
+        flush();
+        checkpointId = findCatalogId(CatalogUtils.getName(filename));
+        if (checkpointId == null) {
+            log.warn("Script {} is not registered in the catalog, it runs without checkpoints", filename);
+            options.setCheckpointInterval(0);
+            return executeScriptSql(openStatements(type, filename, options), filename, options);
+        }
         try {
-            super.queryForInt("SELECT count(*) FROM CATALOG_SCRIPT_SQL_EXECUTION");
-            exist = true;
-        } catch (Exception ex) {
-            exist = false;
+            options.setResumeFrom(resumePoint(type, filename, options));
+            return executeScriptSql(openStatements(type, filename, options), filename, options);
+        } finally {
+            checkpointId = null;
         }
-        return exist;
     }
 
-    private void createTableCatalogExecution() {
-        executeScriptAudit("002_TABLE_CATALOG_SCRIPT_SQL_EXECUTION.SQL");
+    /**
+     * Statements of the script, taken from the read-ahead when it was prefetched. The scripts prefetched before it
+     * were skipped, they are discarded so their statements give their memory back.
+     */
+    private SqlStatementSource openStatements(String type, String filename, ScriptOptions options) throws SQLException {
+        if (prefetched.containsKey(filename)) {
+            Iterator<Map.Entry<String, PrefetchedScript>> entries = prefetched.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, PrefetchedScript> entry = entries.next();
+                entries.remove();
+                if (entry.getKey().equals(filename)) {
+                    return entry.getValue();
+                }
+                entry.getValue().close();
+            }
+        }
+        return new SqlStatementReader(openScriptReader(type, filename, options), databaseType, filename);
     }
 
-    private boolean existFileNameExecuted(String filename) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append(" SELECT count(1) ");
-        sb.append(" FROM catalog_script_sql_execution e ");
-        sb.append(" INNER JOIN catalog_script_sql s on e.catalog_id=s.catalog_id ");
-        sb.append(" WHERE s.filename = ?");
-        int count = queryForInt(sb.toString(), filename.toUpperCase());
-        return (count > 0);
+    private void closePrefetcher() {
+        for (PrefetchedScript script : prefetched.values()) {
+            script.close();
+        }
+        prefetched.clear();
+        if (prefetcher != null) {
+            prefetcher.close();
+            prefetcher = null;
+        }
     }
 
-    private boolean existFileNameExecutedSuccess(String filename) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append(" SELECT count(1) ");
-        sb.append(" FROM catalog_script_sql_execution e ");
-        sb.append(" INNER JOIN catalog_script_sql s on e.catalog_id=s.catalog_id ");
-        sb.append(" WHERE s.filename = ? AND e.status='SUCCESS'");
-        int count = queryForInt(sb.toString(), filename.toUpperCase());
-        return (count > 0);
+    private Reader openScriptReader(String type, String filename, ScriptOptions options) throws SQLException {
+        Reader reader = ScriptPreprocessor.apply(openScript(filename, options), type, config);
+        if ("FUNCTION".equalsIgnoreCase(type)) {
+            reader = new FunctionBodyReader(reader);
+        }
+        return reader;
     }
 
-    private void insertCatalog(String catalogId, String type, String objectname, String filename, Boolean onetime) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("INSERT INTO catalog_script_sql (catalog_id, object_type, label, filename, one_time) ");
-        sb.append("VALUES (?,?,?,?,?)");
-        execute(sb.toString(), catalogId, type, objectname, filename.toUpperCase(), Boolean.TRUE.equals(onetime) ? "1" : "0");
+    /**
+     * Ordinal of the last statement committed by a previous execution that stopped after a checkpoint, resumed only
+     * when the statements up to it are still the same.
+     */
+    private int resumePoint(String type, String filename, ScriptOptions options) throws SQLException {
+        List<Object> checkpoint = find(SQL_SELECT_CHECKPOINT, (rs, i) -> new Object[]{rs.getInt("statement_ordinal"), rs.getString("content_hash")}, checkpointId);
+        if (checkpoint.isEmpty()) {
+            return 0;
+        }
+        Object[] row = (Object[]) checkpoint.get(0);
+        int ordinal = (Integer) row[0];
+        switch (config.getResumePolicy()) {
+            case FAIL:
+                throw new SQLException("Script " + filename + " stopped after statement #" + ordinal + " in a previous execution and the resume policy refuses to run it again");
+            case RESUME:
+                if (row[1].equals(statementsHash(openScriptReader(type, filename, options), filename, ordinal))) {
+                    log.info("Resuming script {} after statement #{}", filename, ordinal);
+                    return ordinal;
+                }
+                log.warn("The statements of script {} before its checkpoint #{} have changed, it runs from the first statement", filename, ordinal);
+                return 0;
+            default:
+                log.info("Script {} stopped after statement #{} in a previous execution, it runs from the first statement", filename, ordinal);
+                return 0;
+        }
+    }
 
+    @Override
+    protected void saveCheckpoint(String name, int ordinal, String hash) throws SQLException {
+        Date now = new Date();
+        if (execute(SQL_UPDATE_CHECKPOINT, ordinal, hash, now, checkpointId) == 0) {
+            execute(SQL_INSERT_CHECKPOINT, checkpointId, ordinal, hash, now);
+        }
+        log.debug("Checkpoint of script {} at statement #{}", name, ordinal);
+    }
+
+    @Override
+    protected void clearCheckpoint(String name) throws SQLException {
+        execute(SQL_DELETE_CHECKPOINT, checkpointId);
+    }
+
+    private String findCatalogId(String filename) throws SQLException {
+        CatalogScript catalogScript = (catalogIndex == null) ? null : catalogIndex.get(filename.toUpperCase());
+        return (catalogScript == null) ? getCatalogId(filename) : catalogScript.getCatalogId();
+    }
+
+    private boolean existColumn(String table, String column) {
+        boolean exist;
+        try {
+            super.queryForInt("SELECT count(" + column + ") FROM " + table + " WHERE 1 = 0");
+            exist = true;
+        } catch (Exception ex) {
+            exist = false;
+        }
+        return exist;
+    }
+
+    private void insertCatalog(String catalogId, String type, String objectname, String filename, Boolean onetime) throws SQLException {
+        write(SQL_INSERT_CATALOG, pendingCatalogInserts, catalogId, type, objectname, filename.toUpperCase(), Boolean.TRUE.equals(onetime) ? "1" : "0");
     }
 
     private void updateCatalog(String filename, Boolean onetime) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("UPDATE catalog_script_sql ");
-        sb.append("SET one_time = ? WHERE filename = ? ");
-        execute(sb.toString(), Boolean.TRUE.equals(onetime) ? "0" : "1", filename.toUpperCase());
+        write(SQL_UPDATE_CATALOG, pendingCatalogUpdates, Boolean.TRUE.equals(onetime) ? "1" : "0", filename.toUpperCase());
+    }
+
+    private CatalogScript findCatalogScript(String filename) throws SQLException {
+        List<Object> records = find(SQL_SELECT_CATALOG_BY_FILENAME, MasterDAOImpl::mapCatalogScript, filename.toUpperCase());
+        return records.isEmpty() ? null : (CatalogScript) records.get(0);
     }
 
     private String getCatalogId(String filename) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        sb.append("SELECT catalog_id FROM catalog_script_sql WHERE filename = ? ");
-        return queryForString(sb.toString(), filename.toUpperCase());
+        return queryForString(SQL_SELECT_CATALOG_ID, filename.toUpperCase());
     }
 
-    private void insertCatalogExecution(String catalogId, long timeExecution, String status, String messageError) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        Date date = new Date();
-        sb.append("INSERT INTO catalog_script_sql_execution (catalog_id, execution_date, miliseconds, status, exit_message) ");
-        sb.append("VALUES (?, ?, ? , ?, ? )");
-        execute(sb.toString(), catalogId, date, timeExecution, status.toUpperCase(), messageError);
+    private void insertCatalogExecution(String executionId, String catalogId, long timeExecution, String status, String messageError) throws SQLException {
+        write(SQL_INSERT_CATALOG_EXECUTION, pendingExecutions, executionId, catalogId, new Date(), timeExecution, status.toUpperCase(), messageError);
     }
 }
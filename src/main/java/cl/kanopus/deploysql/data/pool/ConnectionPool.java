@@ -0,0 +1,252 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.pool;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Small bounded pool of JDBC connections opened through {@link DriverManager}. Connections are handed out as proxies
+ * whose close() returns the physical connection to the pool.
+ */
+@Slf4j
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final int loginTimeout;
+    private final long waitTimeoutMillis;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, String username, String password, int maxSize, int loginTimeout, long waitTimeoutMillis) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Math.max(1, maxSize);
+        this.loginTimeout = loginTimeout;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timeout waiting " + waitTimeoutMillis + " ms for a connection of " + url);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection", ex);
+        }
+        long wait = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+
+        try {
+            Connection physical = idle.pollFirst();
+            while (physical != null && !isUsable(physical)) {
+                physical = idle.pollFirst();
+            }
+            if (physical == null) {
+                physical = openPhysical();
+            }
+            active.incrementAndGet();
+            borrowed.incrementAndGet();
+            return wrap(physical);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connection pool credentials are fixed");
+    }
+
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(active.get(), idle.size(), maxSize, created.get(), borrowed.get(), totalWaitNanos.get(), maxWaitNanos.get());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            closeQuietly(physical);
+        }
+        log.debug("Connection pool of {} has been closed ({})", url, getMetrics());
+    }
+
+    private Connection openPhysical() throws SQLException {
+        try {
+            Class.forName(DatabaseType.fromUrl(url).getDriverClass());
+        } catch (ClassNotFoundException ex) {
+            throw new SQLException("Error getting connection", ex);
+        }
+        DriverManager.setLoginTimeout(loginTimeout);// timeout is only how long the DriverManager waits for a connection
+        Connection physical = DriverManager.getConnection(url, username, password);
+        created.incrementAndGet();
+        return physical;
+    }
+
+    private boolean isUsable(Connection physical) {
+        try {
+            if (physical.isValid(2)) {
+                return true;
+            }
+        } catch (SQLException ex) {
+            log.debug("Pooled connection is no longer valid: {}", ex.getMessage());
+        }
+        closeQuietly(physical);
+        return false;
+    }
+
+    private void release(Connection physical) {
+        active.decrementAndGet();
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+            } else {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException ex) {
+            log.debug("Pooled connection discarded on release: {}", ex.getMessage());
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical;
+                default:
+                    if (released.get()) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+            }
+        });
+    }
+
+    private static void closeQuietly(Connection physical) {
+        try {
+            physical.close();
+        } catch (SQLException ex) {
+            log.debug("Error closing pooled connection: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // not used, the pool logs through slf4j
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // the login timeout is fixed when the pool is created
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+}
@@ -0,0 +1,88 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.pool;
+
+import java.io.Serializable;
+
+public class PoolMetrics implements Serializable {
+
+    private static final long serialVersionUID = 6140817253071469357L;
+
+    private final int active;
+    private final int idle;
+    private final int maxSize;
+    private final long created;
+    private final long borrowed;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    public PoolMetrics(int active, int idle, int maxSize, long created, long borrowed, long totalWaitNanos, long maxWaitNanos) {
+        this.active = active;
+        this.idle = idle;
+        this.maxSize = maxSize;
+        this.created = created;
+        this.borrowed = borrowed;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public double getAverageWaitMillis() {
+        return borrowed == 0 ? 0 : (totalWaitNanos / 1_000_000.0) / borrowed;
+    }
+
+    @Override
+    public String toString() {
+        return "active: " + active + ", idle: " + idle + ", max: " + maxSize + ", created: " + created + ", borrowed: " + borrowed
+                + ", avg wait ms: " + String.format("%.3f", getAverageWaitMillis()) + ", max wait ms: " + (maxWaitNanos / 1_000_000);
+    }
+
+}
@@ -0,0 +1,158 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.pool;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Hands out the connections of another {@link DataSource} switched to one schema through {@link Connection#setSchema},
+ * so the tenants of one database share its connections. The previous schema is restored when a connection is closed.
+ */
+@Slf4j
+public class SchemaDataSource implements DataSource {
+
+    private final DataSource dataSource;
+    private final String schema;
+
+    public SchemaDataSource(DataSource dataSource, String schema) {
+        this.dataSource = dataSource;
+        this.schema = schema;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        String previous;
+        try {
+            if (DatabaseType.fromUrl(connection.getMetaData().getURL()) == DatabaseType.SQLSERVER) {
+                // the SQL Server driver ignores setSchema, the default schema belongs to the user
+                throw new SQLException("SQL Server connections cannot switch to schema " + schema + ", deploy the tenant through its own url or user");
+            }
+            previous = connection.getSchema();
+            connection.setSchema(schema);
+        } catch (SQLException | RuntimeException ex) {
+            connection.close();
+            throw ex;
+        }
+        return wrap(connection, previous);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Schema data source credentials are fixed");
+    }
+
+    private Connection wrap(Connection connection, String previous) {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        restore(connection, previous);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed.get() || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return schema + "@" + connection;
+                default:
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+            }
+        });
+    }
+
+    private void restore(Connection connection, String previous) throws SQLException {
+        try {
+            if (previous != null && !connection.isClosed()) {
+                connection.setSchema(previous);
+            }
+        } catch (SQLException ex) {
+            log.debug("Schema {} could not be restored: {}", previous, ex.getMessage());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+}
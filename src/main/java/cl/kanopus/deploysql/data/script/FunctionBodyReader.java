@@ -0,0 +1,68 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * FUNCTION script rewriting in a single pass: quotes are doubled and every $BODY$ marker becomes a quote, so the
+ * function body is sent as a string literal.
+ */
+public class FunctionBodyReader extends ScriptFilterReader {
+
+    private static final char[] MARKER = "BODY$".toCharArray();
+
+    private final char[] lookahead = new char[MARKER.length];
+
+    public FunctionBodyReader(Reader in) {
+        super(in);
+    }
+
+    @Override
+    protected int filter() throws IOException {
+        int c = source.read();
+        if (c == '\'') {
+            emit("'");
+        } else if (c == '$') {
+            int read = 0;
+            while (read < MARKER.length) {
+                int next = source.read();
+                if (next == -1) {
+                    break;
+                }
+                lookahead[read++] = (char) next;
+                if (next != MARKER[read - 1]) {
+                    break;
+                }
+            }
+            if (read == MARKER.length && lookahead[read - 1] == MARKER[read - 1]) {
+                return '\'';
+            }
+            source.unread(lookahead, 0, read);
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Replaces ${name} placeholders with their configured value while the script is read. Unknown names are left as
+ * they are.
+ */
+public class PlaceholderReader extends ScriptFilterReader {
+
+    private static final int MAX_NAME = 128;
+
+    private final Map<String, String> values;
+    private final StringBuilder name = new StringBuilder();
+
+    public PlaceholderReader(Reader in, Map<String, String> values) {
+        super(in);
+        this.values = values;
+    }
+
+    @Override
+    protected int filter() throws IOException {
+        int c = source.read();
+        if (c != '$') {
+            return c;
+        }
+        int next = source.read();
+        if (next != '{') {
+            if (next != -1) {
+                source.unread(next);
+            }
+            return c;
+        }
+        name.setLength(0);
+        int n;
+        while ((n = source.read()) != -1 && n != '}' && n != '\n' && name.length() < MAX_NAME) {
+            name.append((char) n);
+        }
+        String value = (n == '}') ? values.get(name.toString()) : null;
+        if (value != null) {
+            emit(value);
+        } else {
+            emit("{");
+            emit(name);
+            if (n != -1) {
+                emit(String.valueOf((char) n));
+            }
+            return c;
+        }
+        return read();
+    }
+
+}
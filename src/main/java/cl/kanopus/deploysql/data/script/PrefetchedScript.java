@@ -0,0 +1,116 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Statements of a script split by the {@link ScriptPrefetcher}. Each statement waiting here holds its characters of
+ * the read-ahead budget, given back when it is taken or when the script is closed without being executed.
+ */
+public class PrefetchedScript implements SqlStatementSource {
+
+    private final String name;
+    private final Semaphore budget;
+    private final int maxCost;
+    private final Deque<SqlStatement> statements = new ArrayDeque<>();
+    private boolean finished = false;
+    private boolean closed = false;
+    private IOException failure = null;
+
+    PrefetchedScript(String name, Semaphore budget, int maxCost) {
+        this.name = name;
+        this.budget = budget;
+        this.maxCost = maxCost;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized SqlStatement next() throws IOException {
+        while (statements.isEmpty() && !finished) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading script " + name);
+            }
+        }
+        SqlStatement sql = statements.poll();
+        if (sql != null) {
+            budget.release(cost(sql));
+            return sql;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (SqlStatement sql : statements) {
+            budget.release(cost(sql));
+        }
+        statements.clear();
+    }
+
+    /**
+     * Characters a statement holds, a statement larger than the whole budget takes all of it.
+     */
+    int cost(SqlStatement sql) {
+        return Math.min(sql.getText().length(), maxCost);
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Queues a statement whose cost was taken from the budget, returns false when the script was closed meanwhile.
+     */
+    synchronized boolean add(SqlStatement sql) {
+        if (closed) {
+            budget.release(cost(sql));
+            return false;
+        }
+        statements.add(sql);
+        notifyAll();
+        return true;
+    }
+
+    synchronized void finish(IOException failure) {
+        this.finished = true;
+        this.failure = failure;
+        notifyAll();
+    }
+
+}
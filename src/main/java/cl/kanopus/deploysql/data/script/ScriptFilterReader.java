@@ -0,0 +1,118 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+
+/**
+ * Base of the streaming script filters. Subclasses produce one character per call to {@link #filter()} and may queue
+ * replacement text with {@link #emit(CharSequence)}.
+ */
+public abstract class ScriptFilterReader extends FilterReader {
+
+    private static final int LOOKAHEAD = 256;
+
+    protected final PushbackReader source;
+    private final StringBuilder queue = new StringBuilder();
+    private int queued = 0;
+
+    protected ScriptFilterReader(Reader in) {
+        this(new PushbackReader(in, LOOKAHEAD));
+    }
+
+    private ScriptFilterReader(PushbackReader source) {
+        super(source);
+        this.source = source;
+    }
+
+    /**
+     * Next character of the transformed text, or -1 at the end of the script.
+     */
+    protected abstract int filter() throws IOException;
+
+    protected void emit(CharSequence text) {
+        queue.append(text);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (queued < queue.length()) {
+            char c = queue.charAt(queued++);
+            if (queued == queue.length()) {
+                queue.setLength(0);
+                queued = 0;
+            }
+            return c;
+        }
+        return filter();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            cbuf[off + count++] = (char) c;
+            if (queued == 0 && !source.ready()) {
+                // hand over what is available instead of blocking for a full buffer
+                break;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+}
@@ -0,0 +1,152 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.Serializable;
+
+/**
+ * How the statements of one script are sent to the database.
+ */
+public class ScriptOptions implements Serializable {
+
+    private static final long serialVersionUID = -5039618020317645310L;
+
+    /**
+     * Consecutive DML statements grouped in one JDBC batch, 1 or less executes them one by one.
+     */
+    private int batchSize = 1;
+
+    /**
+     * Target table of a BULK script.
+     */
+    private String table;
+
+    /**
+     * Column delimiter of a BULK script file.
+     */
+    private char delimiter = ',';
+
+    /**
+     * Whether the first line of a BULK script file holds the column names.
+     */
+    private boolean header = true;
+
+    /**
+     * Charset used to decode the script file.
+     */
+    private String encoding = "UTF-8";
+
+    /**
+     * Slowest statements kept by the profiler, 0 disables profiling.
+     */
+    private int profileSize = 0;
+
+    /**
+     * Statements committed together with a checkpoint, 0 runs the script without checkpoints.
+     */
+    private int checkpointInterval = 0;
+
+    /**
+     * Ordinal of the last statement committed by a previous execution, the statements up to it are skipped.
+     */
+    private int resumeFrom = 0;
+
+    /**
+     * System.nanoTime at which the script is cancelled, 0 lets it run without a deadline.
+     */
+    private long deadline = 0;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public boolean isHeader() {
+        return header;
+    }
+
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    public int getProfileSize() {
+        return profileSize;
+    }
+
+    public void setProfileSize(int profileSize) {
+        this.profileSize = profileSize;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public int getResumeFrom() {
+        return resumeFrom;
+    }
+
+    public void setResumeFrom(int resumeFrom) {
+        this.resumeFrom = resumeFrom;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Reads, preprocesses and splits scripts on a background thread while the previous ones execute. Scripts are split
+ * one after another in the order they are submitted, and the statements waiting to be executed are bounded by a
+ * budget of characters shared by all of them, so a large file is never buffered whole: the thread waits until the
+ * statements already split are executed.
+ */
+public class ScriptPrefetcher implements AutoCloseable {
+
+    private final DatabaseType databaseType;
+    private final int bufferChars;
+    private final Semaphore budget;
+    private final ExecutorService executor;
+
+    public ScriptPrefetcher(DatabaseType databaseType, int bufferChars) {
+        this.databaseType = databaseType;
+        this.bufferChars = Math.max(1, bufferChars);
+        this.budget = new Semaphore(this.bufferChars);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deploysql-read-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a script to be split, the reader is opened on the background thread when its turn comes.
+     */
+    public PrefetchedScript submit(String name, Callable<Reader> opener) {
+        PrefetchedScript script = new PrefetchedScript(name, budget, bufferChars);
+        executor.execute(() -> split(script, opener));
+        return script;
+    }
+
+    private void split(PrefetchedScript script, Callable<Reader> opener) {
+        if (script.isClosed()) {
+            return;
+        }
+        try (SqlStatementReader reader = new SqlStatementReader(opener.call(), databaseType, script.getName())) {
+            SqlStatement sql;
+            while ((sql = reader.next()) != null) {
+                budget.acquire(script.cost(sql));
+                if (!script.add(sql)) {
+                    return;
+                }
+            }
+            script.finish(null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            script.finish(new InterruptedIOException("Read-ahead of script " + script.getName() + " was interrupted"));
+        } catch (IOException ex) {
+            script.finish(ex);
+        } catch (Exception ex) {
+            script.finish(new IOException(ex.getMessage(), ex));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
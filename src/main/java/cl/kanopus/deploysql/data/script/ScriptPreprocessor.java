@@ -0,0 +1,57 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import cl.kanopus.deploysql.application.config.DeployConfig;
+
+import java.io.Reader;
+
+/**
+ * Placeholders and filters configured for a script type, applied in the same order to the script that is executed and
+ * to the text its checksum is computed from.
+ */
+public class ScriptPreprocessor {
+
+    private ScriptPreprocessor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Whether scripts of the type are executed exactly as they are stored.
+     */
+    public static boolean isPlain(String type, DeployConfig config) {
+        return config.getPlaceholders().isEmpty() && config.getScriptFilters(type).isEmpty();
+    }
+
+    public static Reader apply(Reader reader, String type, DeployConfig config) {
+        if (!config.getPlaceholders().isEmpty()) {
+            reader = new PlaceholderReader(reader, config.getPlaceholders());
+        }
+        for (ScriptFilter filter : config.getScriptFilters(type)) {
+            reader = filter.apply(reader);
+        }
+        return reader;
+    }
+
+}
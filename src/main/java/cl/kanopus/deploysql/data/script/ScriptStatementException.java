@@ -0,0 +1,63 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.sql.SQLException;
+
+public class ScriptStatementException extends SQLException {
+
+    private static final long serialVersionUID = -6470155843318000142L;
+
+    private static final int MAX_STATEMENT_LENGTH = 250;
+
+    private final transient SqlStatement statement;
+    private transient ScriptStats stats;
+
+    public ScriptStatementException(String script, SqlStatement statement, SQLException cause) {
+        super("Statement #" + statement.getOrdinal() + " (line " + statement.getLine() + ") of script " + script + " failed: "
+                + cause.getMessage(), cause.getSQLState(), cause.getErrorCode(), cause);
+        this.statement = statement;
+    }
+
+    public SqlStatement getStatement() {
+        return statement;
+    }
+
+    /**
+     * What the script did before the failing statement.
+     */
+    public ScriptStats getStats() {
+        return stats;
+    }
+
+    public void setStats(ScriptStats stats) {
+        this.stats = stats;
+    }
+
+    public String getStatementText() {
+        String text = statement.getText();
+        return text.length() <= MAX_STATEMENT_LENGTH ? text : text.substring(0, MAX_STATEMENT_LENGTH) + "...";
+    }
+
+}
@@ -0,0 +1,103 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+public class ScriptStats implements Serializable {
+
+    private static final long serialVersionUID = 1719385126036283104L;
+
+    private long statements;
+    private long rowsAffected;
+    private long batches;
+    private long readNanos;
+    private long executeNanos;
+    private List<StatementProfile> slowestStatements = Collections.emptyList();
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void addStatements(long statements) {
+        this.statements += statements;
+    }
+
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    public void addRowsAffected(long rowsAffected) {
+        this.rowsAffected += rowsAffected;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void addBatch() {
+        this.batches++;
+    }
+
+    /**
+     * Time spent reading and splitting the script.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    public void addReadNanos(long nanos) {
+        this.readNanos += nanos;
+    }
+
+    /**
+     * Time spent waiting for the database to execute the statements.
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    public void addExecuteNanos(long nanos) {
+        this.executeNanos += nanos;
+    }
+
+    /**
+     * Slowest statements first, empty unless profiling is enabled.
+     */
+    public List<StatementProfile> getSlowestStatements() {
+        return slowestStatements;
+    }
+
+    public void setSlowestStatements(List<StatementProfile> slowestStatements) {
+        this.slowestStatements = slowestStatements;
+    }
+
+    @Override
+    public String toString() {
+        return "statements: " + statements + ", rows affected: " + rowsAffected + ", batches: " + batches;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.sql.SQLException;
+
+/**
+ * A statement cancelled because its script ran past its deadline.
+ */
+public class ScriptTimeoutException extends ScriptStatementException {
+
+    private static final long serialVersionUID = 4725318950442116031L;
+
+    public ScriptTimeoutException(String script, SqlStatement statement, SQLException cause) {
+        super(script, statement, cause);
+    }
+
+}
@@ -0,0 +1,59 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.io.Serializable;
+
+public class SqlStatement implements Serializable {
+
+    private static final long serialVersionUID = 3405198271760420137L;
+
+    private final int ordinal;
+    private final int line;
+    private final String text;
+
+    public SqlStatement(int ordinal, int line, String text) {
+        this.ordinal = ordinal;
+        this.line = line;
+        this.text = text;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + ordinal + " (line " + line + "): " + text;
+    }
+
+}
@@ -0,0 +1,251 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a SQL script into statements while it is being read, keeping in memory only the statement in progress.
+ * <p>
+ * Statements end with ';' outside quotes and comments, comments are removed and whitespace is collapsed as
+ * Spring's ScriptUtils did. On top of that it understands the block delimiters of each dialect:
+ * <ul>
+ * <li>POSTGRES: dollar quoted bodies ($$ or $tag$) are kept verbatim.</li>
+ * <li>ORACLE: PL/SQL blocks (CREATE PROCEDURE/FUNCTION/PACKAGE/TRIGGER/TYPE, DECLARE, BEGIN) end with a line
+ * holding only '/'.</li>
+ * <li>SQLSERVER: a line holding only GO ends the batch, and CREATE/ALTER PROCEDURE/FUNCTION/TRIGGER run until it.</li>
+ * </ul>
+ * A script without any delimiter is executed one line at a time, which was the ScriptUtils fallback.
+ */
+public class SqlStatementReader implements SqlStatementSource {
+
+    private static final Pattern ORACLE_BLOCK = Pattern.compile("^(CREATE\\s+(OR\\s+REPLACE\\s+)?((NON)?EDITIONABLE\\s+)?(PROCEDURE|FUNCTION|PACKAGE|TRIGGER|TYPE)|DECLARE|BEGIN)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SQLSERVER_BLOCK = Pattern.compile("^(CREATE\\s+OR\\s+ALTER|CREATE|ALTER)\\s+(PROCEDURE|PROC|FUNCTION|TRIGGER)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DOLLAR_TAG = Pattern.compile("\\$([A-Za-z_][A-Za-z0-9_]*)?\\$");
+
+    private final BufferedReader reader;
+    private final DatabaseType databaseType;
+    private final String name;
+
+    private final Deque<SqlStatement> ready = new ArrayDeque<>();
+    private StringBuilder sb = new StringBuilder();
+    private final List<int[]> lineBreaks = new ArrayList<>();
+    private int lineNumber = 0;
+    private int statementLine = 0;
+    private int segmentLine = 0;
+    private int ordinal = 0;
+    private boolean separatorSeen = false;
+    private boolean inSingleQuote = false;
+    private boolean inDoubleQuote = false;
+    private boolean inBlockComment = false;
+    private String dollarTag = null;
+    private Boolean blockMode = null;
+    private boolean eof = false;
+
+    public SqlStatementReader(Reader reader, DatabaseType databaseType, String name) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+        this.databaseType = databaseType;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SqlStatement next() throws IOException {
+        while (ready.isEmpty() && !eof) {
+            String line = reader.readLine();
+            if (line == null) {
+                eof = true;
+                finish();
+            } else {
+                lineNumber++;
+                processLine(line);
+            }
+        }
+        return ready.poll();
+    }
+
+    private void processLine(String line) {
+        if (!inSingleQuote && !inDoubleQuote && !inBlockComment && dollarTag == null && isBlockDelimiterLine(line.trim())) {
+            separatorSeen = true;
+            emit();
+            return;
+        }
+
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (inBlockComment) {
+                if (c == '*' && i + 1 < length && line.charAt(i + 1) == '/') {
+                    inBlockComment = false;
+                    i++;
+                }
+            } else if (inSingleQuote) {
+                sb.append(c);
+                if (c == '\\' && i + 1 < length) {
+                    sb.append(line.charAt(++i));
+                } else {
+                    inSingleQuote = c != '\'';
+                }
+            } else if (inDoubleQuote) {
+                sb.append(c);
+                inDoubleQuote = c != '"';
+            } else if (dollarTag != null) {
+                if (c == '$' && line.startsWith(dollarTag, i)) {
+                    sb.append(dollarTag);
+                    i += dollarTag.length() - 1;
+                    dollarTag = null;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '-' && i + 1 < length && line.charAt(i + 1) == '-') {
+                break;
+            } else if (c == '/' && i + 1 < length && line.charAt(i + 1) == '*') {
+                inBlockComment = true;
+                i++;
+            } else if (c == ';' && !isBlock()) {
+                separatorSeen = true;
+                emit();
+            } else if (Character.isWhitespace(c)) {
+                appendSpace();
+            } else {
+                if (sb.length() == 0) {
+                    statementLine = lineNumber;
+                }
+                if (segmentLine == 0) {
+                    segmentLine = lineNumber;
+                }
+                if (c == '\'') {
+                    inSingleQuote = true;
+                } else if (c == '"') {
+                    inDoubleQuote = true;
+                } else if (c == '$' && databaseType == DatabaseType.POSTGRES) {
+                    Matcher matcher = DOLLAR_TAG.matcher(line).region(i, length);
+                    if (matcher.lookingAt()) {
+                        dollarTag = matcher.group();
+                        sb.append(dollarTag);
+                        i += dollarTag.length() - 1;
+                        continue;
+                    }
+                }
+                sb.append(c);
+            }
+        }
+
+        if (inSingleQuote || inDoubleQuote || dollarTag != null) {
+            sb.append('\n');
+        } else if (!inBlockComment) {
+            appendSpace();
+            if (!separatorSeen && segmentLine != 0) {
+                lineBreaks.add(new int[]{sb.length(), segmentLine});
+            }
+            segmentLine = 0;
+        }
+    }
+
+    private boolean isBlockDelimiterLine(String trimmed) {
+        if (databaseType == DatabaseType.ORACLE) {
+            return "/".equals(trimmed);
+        } else if (databaseType == DatabaseType.SQLSERVER) {
+            return "GO".equalsIgnoreCase(trimmed);
+        }
+        return false;
+    }
+
+    private boolean isBlock() {
+        if (blockMode == null) {
+            String statement = sb.toString().trim();
+            if (databaseType == DatabaseType.ORACLE) {
+                blockMode = ORACLE_BLOCK.matcher(statement).lookingAt();
+            } else if (databaseType == DatabaseType.SQLSERVER) {
+                blockMode = SQLSERVER_BLOCK.matcher(statement).lookingAt();
+            } else {
+                blockMode = false;
+            }
+        }
+        return blockMode;
+    }
+
+    private void appendSpace() {
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+            sb.append(' ');
+        }
+    }
+
+    private void emit() {
+        String text = sb.toString().trim();
+        if (!text.isEmpty()) {
+            ready.add(new SqlStatement(++ordinal, statementLine, text));
+        }
+        sb = new StringBuilder();
+        lineBreaks.clear();
+        segmentLine = 0;
+        blockMode = null;
+    }
+
+    private void finish() throws IOException {
+        if (inBlockComment) {
+            throw new IOException("Missing block comment end delimiter in script " + name);
+        }
+        if (!separatorSeen && lineBreaks.size() > 1) {
+            // no delimiter in the whole script: every line is a statement
+            String text = sb.toString();
+            int start = 0;
+            for (int[] lineBreak : lineBreaks) {
+                int end = Math.min(lineBreak[0], text.length());
+                String statement = text.substring(start, end).trim();
+                if (!statement.isEmpty()) {
+                    ready.add(new SqlStatement(++ordinal, lineBreak[1], statement));
+                }
+                start = end;
+            }
+            String last = text.substring(start).trim();
+            if (!last.isEmpty()) {
+                ready.add(new SqlStatement(++ordinal, lineNumber, last));
+            }
+            sb = new StringBuilder();
+            lineBreaks.clear();
+        } else {
+            emit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
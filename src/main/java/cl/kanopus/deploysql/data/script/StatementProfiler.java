@@ -0,0 +1,85 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the N slowest statements of a script in a min-heap, so profiling costs O(log N) per statement and the text
+ * is only copied for the statements that enter the ranking.
+ */
+public class StatementProfiler {
+
+    private static final int MAX_TEXT_LENGTH = 1000;
+
+    private final int size;
+    private final PriorityQueue<StatementProfile> slowest;
+
+    public StatementProfiler(int size) {
+        this.size = size;
+        this.slowest = new PriorityQueue<>(Math.max(size, 1), Comparator.comparingLong(StatementProfile::getNanos));
+    }
+
+    public void record(SqlStatement statement, long nanos, long rowsAffected) {
+        if (isRanked(nanos)) {
+            add(new StatementProfile(statement.getOrdinal(), statement.getLine(), truncate(statement.getText()), nanos, rowsAffected));
+        }
+    }
+
+    public void recordBatch(List<SqlStatement> batch, long nanos, long rowsAffected) {
+        if (!batch.isEmpty() && isRanked(nanos)) {
+            SqlStatement first = batch.get(0);
+            String text = "[batch of " + batch.size() + "] " + first.getText();
+            add(new StatementProfile(first.getOrdinal(), first.getLine(), truncate(text), nanos, rowsAffected));
+        }
+    }
+
+    /**
+     * Slowest statements first.
+     */
+    public List<StatementProfile> getSlowest() {
+        List<StatementProfile> profiles = new ArrayList<>(slowest);
+        profiles.sort(Comparator.comparingLong(StatementProfile::getNanos).reversed());
+        return profiles;
+    }
+
+    private boolean isRanked(long nanos) {
+        return size > 0 && (slowest.size() < size || nanos > slowest.peek().getNanos());
+    }
+
+    private void add(StatementProfile profile) {
+        if (slowest.size() >= size) {
+            slowest.poll();
+        }
+        slowest.add(profile);
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH - 3) + "...";
+    }
+
+}
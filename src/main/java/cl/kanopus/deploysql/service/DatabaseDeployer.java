@@ -0,0 +1,694 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.DeployResult;
+import cl.kanopus.deploysql.application.config.Catalog;
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.application.enums.DeployPhase;
+import cl.kanopus.deploysql.application.enums.DeployStatus;
+import cl.kanopus.deploysql.application.enums.TimeoutAction;
+import cl.kanopus.deploysql.application.enums.TransactionMode;
+import cl.kanopus.deploysql.application.metrics.DeployMetrics;
+import cl.kanopus.deploysql.application.utils.CatalogUtils;
+import cl.kanopus.deploysql.application.utils.ChecksumUtils;
+import cl.kanopus.deploysql.application.utils.PathUtils;
+import cl.kanopus.deploysql.data.master.MasterDAO;
+import cl.kanopus.deploysql.data.master.impl.MasterDAOImpl;
+import cl.kanopus.deploysql.data.pool.ConnectionPool;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptPreprocessor;
+import cl.kanopus.deploysql.data.script.ScriptStatementException;
+import cl.kanopus.deploysql.data.script.ScriptStats;
+import cl.kanopus.deploysql.data.script.ScriptTimeoutException;
+import cl.kanopus.deploysql.data.script.StatementProfile;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deploys the scripts of one catalog database. Bookkeeping and serial scripts share one connection, parallel scripts
+ * borrow worker connections from the same {@link DataSource}.
+ */
+@Slf4j
+public class DatabaseDeployer {
+
+    private final Catalog.Database database;
+    private final DataSource dataSource;
+    private final DeployConfig config;
+    private final DeployMetrics metrics;
+    private final Map<String, String> checksums = new ConcurrentHashMap<>();
+    private final Set<String> unregistered = new HashSet<>();
+    private final long deadline;
+    private String stopReason = null;
+
+    public DatabaseDeployer(Catalog.Database database, DataSource dataSource, DeployConfig config) {
+        this(database, dataSource, config, 0);
+    }
+
+    /**
+     * @param deadline System.nanoTime at which the deployment stops, 0 lets it run without a deadline.
+     */
+    public DatabaseDeployer(Catalog.Database database, DataSource dataSource, DeployConfig config, long deadline) {
+        this.database = database;
+        this.dataSource = dataSource;
+        this.config = config;
+        this.metrics = config.getMetrics();
+        this.deadline = deadline;
+    }
+
+    public DeployResult deploy() {
+        String label = database.getLabel();
+        DeployResult result = new DeployResult(label);
+        long start = System.nanoTime();
+
+        MasterDAO masterDao = new MasterDAOImpl(config);
+        log.debug("-----------------------------------------------------------------------");
+        try {
+
+            Catalog.Database.Scripts catalogScripts = database.getScripts();
+            ScriptScanner scanner = new ScriptScanner(catalogScripts.getEntries());
+            boolean scanned = catalogScripts.hasDirectories();
+            List<Catalog.Database.Scripts.Script> scripts = null;
+            String fingerprint = null;
+
+            // the catalog is hashed before connecting, the connection is not held while the files are read
+            if (config.isCatalogFingerprint() || config.isDeployLock()) {
+                long hash = System.nanoTime();
+                scripts = scanner.toList();
+                fingerprint = fingerprint(scripts);
+                phase(DeployPhase.BOOKKEEPING, hash);
+            }
+
+            long connect = System.nanoTime();
+            masterDao.openConnection(label, dataSource);
+            phase(DeployPhase.CONNECT, connect);
+
+            log.info("[{}] Connection successfully established", label);
+            log.info("[{}] Check table schema", label);
+
+            if (fingerprint != null) {
+                long check = System.nanoTime();
+                boolean upToDate = upToDate(masterDao, fingerprint, scripts.size(), result);
+                phase(DeployPhase.BOOKKEEPING, check);
+                if (upToDate) {
+                    return result;
+                }
+            }
+            if (config.isDeployLock()) {
+                long wait = System.nanoTime();
+                log.info("[{}] Waiting for the deploy lock", label);
+                if (!masterDao.acquireDeployLock(label, config.getDeployLockTimeout())) {
+                    throw new SQLException("The deploy lock was not granted within " + config.getDeployLockTimeout() + " seconds");
+                }
+                phase(DeployPhase.LOCK, wait);
+                // another node may have deployed the same catalog while this one was waiting
+                if (upToDate(masterDao, fingerprint, scripts.size(), result)) {
+                    return result;
+                }
+            }
+
+            long bookkeeping = System.nanoTime();
+            masterDao.createSchema();
+            masterDao.clearFingerprint(label);
+            if (config.isCatalogSnapshot()) {
+                masterDao.loadCatalogState();
+            }
+            if (config.isAsyncAudit()) {
+                if (config.getTransactionMode() == TransactionMode.STATEMENT) {
+                    masterDao.openAuditConnection(label, dataSource);
+                } else {
+                    log.info("[{}] Tracking records are committed with the scripts in {} mode, asynchronous tracking is ignored", label, config.getTransactionMode());
+                }
+            }
+            phase(DeployPhase.BOOKKEEPING, bookkeeping);
+
+            if (scripts == null && config.getScriptParallelism() > 1) {
+                scripts = scanner.toList();
+            }
+            if (scripts != null) {
+                log.info("[{}] Catalog asocciated with {} scripts for execution", label, scripts.size());
+                if (config.getScriptParallelism() > 1 && scripts.size() > 1) {
+                    executeParallel(masterDao, scripts, result);
+                } else {
+                    executeSerial(masterDao, scripts.iterator(), scripts.size(), result);
+                }
+            } else if (scanned) {
+                log.info("[{}] Catalog scripts are scanned from directories while they are executed", label);
+                executeSerial(masterDao, scanner, 0, result);
+            } else {
+                int total = catalogScripts.getEntries().size();
+                log.info("[{}] Catalog asocciated with {} scripts for execution", label, total);
+                executeSerial(masterDao, scanner, total, result);
+            }
+            long flush = System.nanoTime();
+            masterDao.flush();
+            if (stopReason != null) {
+                throw new SQLTimeoutException(stopReason);
+            }
+            if (config.getHistoryRetentionDays() > 0) {
+                compactHistory(masterDao);
+            }
+            if (fingerprint != null && result.getFailed() == 0) {
+                masterDao.saveFingerprint(label, fingerprint, scripts.size());
+            }
+            phase(DeployPhase.BOOKKEEPING, flush);
+            result.setStatus(DeployStatus.SUCCESS);
+
+        } catch (Exception ex) {
+            result.setStatus(DeployStatus.ERROR);
+            result.setException(ex);
+        } finally {
+            log.info("[{}] The database connection is closed ", label);
+            try {
+                masterDao.closeConnection();
+            } catch (Exception ex) {
+                log.error("[{}] Error closing connection: {}", label, ex.getMessage());
+            }
+            ConnectionPool pool = poolOf(dataSource);
+            if (pool != null) {
+                result.setPoolMetrics(pool.getMetrics());
+                log.debug("[{}] Connection pool: {}", label, result.getPoolMetrics());
+            }
+            long elapsed = System.nanoTime() - start;
+            result.setMiliseconds(elapsed / 1_000_000);
+            metrics.recordDeploy(label, result.getStatus(), elapsed);
+        }
+        return result;
+    }
+
+    private static ConnectionPool poolOf(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionPool.class) ? dataSource.unwrap(ConnectionPool.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Matches the fingerprint of the last fully successful deployment, so every script is known to be up to date.
+     */
+    private boolean upToDate(MasterDAO masterDao, String fingerprint, int totalScripts, DeployResult result) {
+        if (fingerprint == null || !fingerprint.equals(masterDao.findFingerprint(database.getLabel()))) {
+            return false;
+        }
+        log.info("[{}] The catalog matches the last successful deployment, there is nothing to run", database.getLabel());
+        result.setTotalScripts(totalScripts);
+        result.setSkipped(totalScripts);
+        result.setStatus(DeployStatus.SUCCESS);
+        return true;
+    }
+
+    /**
+     * SHA-256 of what decides which scripts run: the placeholders, then every script in catalog order with its type,
+     * label, onetime flag and content checksum, which covers the script filters. Null when a script cannot be read or
+     * unchanged scripts are executed anyway.
+     */
+    private String fingerprint(List<Catalog.Database.Scripts.Script> scripts) {
+        if (config.isRerunUnchanged()) {
+            return null;
+        }
+        // the contents are hashed in parallel, the entries are then combined in catalog order
+        scripts.parallelStream().forEach(this::checksum);
+        MessageDigest digest = ChecksumUtils.newDigest();
+        for (Map.Entry<String, String> placeholder : new TreeMap<>(config.getPlaceholders()).entrySet()) {
+            digest.update((placeholder.getKey() + '=' + placeholder.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        for (Catalog.Database.Scripts.Script script : scripts) {
+            String checksum = checksum(script);
+            if (checksum == null) {
+                return null;
+            }
+            String entry = script.getType() + '\0' + script.getLabel() + '\0' + script.getFilename() + '\0' + script.getOnetime() + '\0' + checksum + '\n';
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        return ChecksumUtils.toHex(digest.digest());
+    }
+
+    private void compactHistory(MasterDAO masterDao) {
+        try {
+            masterDao.compactHistory(config.getHistoryRetentionDays());
+        } catch (SQLException ex) {
+            log.warn("[{}] The execution history could not be compacted: {}", database.getLabel(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Executes the scripts as they are produced, totalScripts is 0 when it is not known in advance.
+     */
+    private void executeSerial(MasterDAO masterDao, Iterator<Catalog.Database.Scripts.Script> scripts, int totalScripts, DeployResult result) throws SQLException {
+        TransactionMode mode = config.getTransactionMode();
+        boolean transactional = mode != TransactionMode.STATEMENT;
+        int commitSize = mode == TransactionMode.GROUP ? Math.max(1, config.getGroupCommitSize()) : 1;
+        if (transactional) {
+            masterDao.beginTransaction();
+        }
+        try {
+            int countScript = 0;
+            int uncommitted = 0;
+            Deque<RegisteredScript> ahead = new ArrayDeque<>();
+            while (!ahead.isEmpty() || scripts.hasNext()) {
+                RegisteredScript current = ahead.isEmpty() ? register(masterDao, scripts.next()) : ahead.poll();
+                // the next scripts are registered, and the ones to execute are read and split while this one executes
+                while (stopReason == null && ahead.size() < config.getReadAhead() && scripts.hasNext()) {
+                    RegisteredScript next = register(masterDao, scripts.next());
+                    ahead.add(next);
+                    if (next.execute) {
+                        masterDao.prefetch(next.script.getType(), next.script.getFilename(), scriptOptions(next.script));
+                    }
+                }
+                Catalog.Database.Scripts.Script script = current.script;
+                String scriptFilename = current.filename;
+                ScriptOutcome outcome = null;
+                if (current.execute && !stopAfter(null)) {
+                    outcome = transactional ? runIsolated(masterDao, script) : run(masterDao, script);
+                }
+                record(masterDao, scriptFilename, outcome, ++countScript, totalScripts, result);
+                result.setTotalScripts(countScript);
+                if (transactional && outcome != null && ++uncommitted >= commitSize) {
+                    commit(masterDao);
+                    uncommitted = 0;
+                }
+                stopAfter(outcome);
+            }
+            if (transactional) {
+                commit(masterDao);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            if (transactional) {
+                rollback(masterDao);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs a script inside the open transaction, a failure rolls back only this script so it can be recorded as
+     * ERROR and committed with the rest of the group.
+     */
+    private ScriptOutcome runIsolated(MasterDAO dao, Catalog.Database.Scripts.Script script) throws SQLException {
+        Savepoint savepoint = dao.setSavepoint();
+        ScriptOutcome outcome = run(dao, script);
+        if (outcome.exception != null) {
+            dao.rollback(savepoint);
+        }
+        return outcome;
+    }
+
+    /**
+     * Runs a script of a parallel worker in its own transaction.
+     */
+    private ScriptOutcome runTransaction(MasterDAO dao, Catalog.Database.Scripts.Script script) {
+        ScriptOutcome outcome = run(dao, script);
+        try {
+            if (outcome.exception == null) {
+                commit(dao);
+            } else {
+                dao.rollback();
+            }
+        } catch (SQLException ex) {
+            rollback(dao);
+            return new ScriptOutcome(ex, outcome.nanos, outcome.stats);
+        }
+        return outcome;
+    }
+
+    private void commit(MasterDAO dao) throws SQLException {
+        long start = System.nanoTime();
+        dao.commit();
+        phase(DeployPhase.COMMIT, start);
+    }
+
+    private void phase(DeployPhase phase, long start) {
+        metrics.recordPhase(database.getLabel(), phase, System.nanoTime() - start);
+    }
+
+    private void rollback(MasterDAO dao) {
+        try {
+            dao.rollback();
+        } catch (SQLException ex) {
+            log.error("[{}] Error rolling back transaction: {}", database.getLabel(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Registers every script on the main connection, then runs the ones to execute following the {@link ScriptGraph}
+     * on up to scriptParallelism worker connections. Tracking is always written from this thread.
+     */
+    private void executeParallel(MasterDAO masterDao, List<Catalog.Database.Scripts.Script> scripts, DeployResult result) throws SQLException, InterruptedException {
+        String label = database.getLabel();
+        int total = scripts.size();
+        result.setTotalScripts(total);
+        ScriptGraph graph = ScriptGraph.build(scripts);
+        int parallelism = graph.isSerial() ? 1 : config.getScriptParallelism();
+        boolean transactional = config.getTransactionMode() != TransactionMode.STATEMENT;
+        log.info("[{}] Scripts will be executed with a parallelism of {}", label, parallelism);
+
+        String[] filenames = new String[total];
+        boolean[] execute = new boolean[total];
+        for (int i = 0; i < total; i++) {
+            filenames[i] = CatalogUtils.getName(scripts.get(i).getFilename());
+            execute[i] = register(masterDao, scripts.get(i), filenames[i]);
+        }
+        // workers look up the catalog rows of their scripts on their own connections
+        masterDao.flush();
+
+        int[] pending = graph.getPredecessorCounts();
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < total; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        Deque<MasterDAO> idleWorkers = new ArrayDeque<>();
+        List<MasterDAO> workers = new ArrayList<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "deploysql-" + label + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int running = 0;
+        int done = 0;
+        try {
+            while (done < total) {
+                while (running < parallelism && !ready.isEmpty()) {
+                    int index = ready.poll();
+                    if (!execute[index] || stopAfter(null)) {
+                        record(masterDao, filenames[index], null, ++done, total, result);
+                        release(graph, index, pending, ready);
+                        continue;
+                    }
+                    MasterDAO worker = idleWorkers.isEmpty() ? openWorker(workers) : idleWorkers.poll();
+                    Catalog.Database.Scripts.Script script = scripts.get(index);
+                    executor.execute(() -> {
+                        ScriptOutcome outcome;
+                        try {
+                            outcome = transactional ? runTransaction(worker, script) : run(worker, script);
+                        } catch (Error error) {
+                            outcome = new ScriptOutcome(new RuntimeException(error.getMessage(), error), 0, null);
+                        }
+                        completions.add(new Completion(index, worker, outcome));
+                    });
+                    running++;
+                }
+                if (running == 0) {
+                    if (done < total) {
+                        throw new IllegalStateException("Script graph has unreachable scripts");
+                    }
+                    break;
+                }
+                Completion completion = completions.take();
+                running--;
+                idleWorkers.add(completion.worker);
+                record(masterDao, filenames[completion.index], completion.outcome, ++done, total, result);
+                release(graph, completion.index, pending, ready);
+                stopAfter(completion.outcome);
+            }
+        } finally {
+            executor.shutdownNow();
+            for (MasterDAO worker : workers) {
+                try {
+                    worker.closeConnection();
+                } catch (SQLException ex) {
+                    log.error("[{}] Error closing worker connection: {}", label, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void release(ScriptGraph graph, int index, int[] pending, PriorityQueue<Integer> ready) {
+        for (Integer successor : graph.getSuccessors(index)) {
+            if (--pending[successor] == 0) {
+                ready.add(successor);
+            }
+        }
+    }
+
+    private MasterDAO openWorker(List<MasterDAO> workers) throws SQLException {
+        MasterDAO worker = new MasterDAOImpl(config);
+        worker.openConnection(database.getLabel(), dataSource);
+        workers.add(worker);
+        if (config.getTransactionMode() != TransactionMode.STATEMENT) {
+            worker.beginTransaction();
+        }
+        return worker;
+    }
+
+    private RegisteredScript register(MasterDAO masterDao, Catalog.Database.Scripts.Script script) {
+        String scriptFilename = CatalogUtils.getName(script.getFilename());
+        return new RegisteredScript(script, scriptFilename, !stopAfter(null) && register(masterDao, script, scriptFilename));
+    }
+
+    /**
+     * Whether the script has to be executed. A script that cannot be registered is not executed and is counted as
+     * failed, so the deployment does not store its fingerprint.
+     */
+    private boolean register(MasterDAO masterDao, Catalog.Database.Scripts.Script script, String scriptFilename) {
+        long start = System.nanoTime();
+        try {
+            return masterDao.saveCatalog(script.getType(), script.getLabel(), scriptFilename, script.getOnetime(), checksum(script));
+        } catch (Exception ex) {
+            log.error("[{}] Error registering script {} : {}", database.getLabel(), scriptFilename, ex.getMessage());
+            unregistered.add(scriptFilename);
+            return false;
+        } finally {
+            phase(DeployPhase.BOOKKEEPING, start);
+        }
+    }
+
+    private String checksum(Catalog.Database.Scripts.Script script) {
+        String checksum = checksums.get(script.getFilename());
+        if (checksum != null) {
+            return checksum;
+        }
+        try {
+            Path file = PathUtils.resolve(script.getFilename());
+            if (ScriptPreprocessor.isPlain(script.getType(), config)) {
+                checksum = ChecksumUtils.sha256Cached(file);
+            } else {
+                // placeholders and filters change what is executed, so the text they produce is hashed
+                try (Reader reader = ScriptPreprocessor.apply(Files.newBufferedReader(file, Charset.forName(config.getScriptEncoding())), script.getType(), config)) {
+                    checksum = ChecksumUtils.sha256(reader);
+                }
+            }
+            checksums.put(script.getFilename(), checksum);
+            return checksum;
+        } catch (Exception ex) {
+            // the execution itself reports the unreadable file
+            log.debug("[{}] Checksum not available for {} : {}", database.getLabel(), script.getFilename(), ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the scripts not started yet are skipped: the deadline of the deployment has expired, or the outcome is
+     * a timeout and the timeout action is STOP.
+     */
+    private boolean stopAfter(ScriptOutcome outcome) {
+        if (stopReason == null) {
+            if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                stopReason = "The deployment exceeded its timeout of " + config.getDeployTimeout() + " seconds";
+            } else if (outcome != null && outcome.exception instanceof ScriptTimeoutException && config.getTimeoutAction() == TimeoutAction.STOP) {
+                stopReason = outcome.exception.getMessage();
+            }
+            if (stopReason != null) {
+                log.warn("[{}] {}, the remaining scripts are skipped", database.getLabel(), stopReason);
+            }
+        }
+        return stopReason != null;
+    }
+
+    /**
+     * Deadline of a script from its timeout, bounded by the deadline of the deployment.
+     */
+    private long scriptDeadline(Catalog.Database.Scripts.Script script) {
+        int timeout = script.getTimeout() != null ? script.getTimeout() : config.getScriptTimeout();
+        if (timeout <= 0) {
+            return deadline;
+        }
+        long scriptDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        return deadline != 0 && deadline - scriptDeadline < 0 ? deadline : scriptDeadline;
+    }
+
+    private ScriptOutcome run(MasterDAO dao, Catalog.Database.Scripts.Script script) {
+        long start = System.nanoTime();
+        try {
+            ScriptOptions options = scriptOptions(script);
+            options.setDeadline(scriptDeadline(script));
+            ScriptStats stats = dao.executeScript(script.getType(), script.getFilename(), options);
+            log.debug("[{}] Script {} executed ({})", database.getLabel(), script.getFilename(), stats);
+            metrics.recordPhase(database.getLabel(), DeployPhase.READ_PARSE, stats.getReadNanos());
+            metrics.recordPhase(database.getLabel(), DeployPhase.EXECUTE, stats.getExecuteNanos());
+            return new ScriptOutcome(null, System.nanoTime() - start, stats);
+        } catch (Exception ex) {
+            ScriptStats stats = (ex instanceof ScriptStatementException) ? ((ScriptStatementException) ex).getStats() : null;
+            return new ScriptOutcome(ex, System.nanoTime() - start, stats);
+        }
+    }
+
+    private ScriptOptions scriptOptions(Catalog.Database.Scripts.Script script) {
+        ScriptOptions options = new ScriptOptions();
+        options.setBatchSize(script.getBatch() != null ? script.getBatch() : config.getBatchSize(script.getType()));
+        options.setTable(script.getTable());
+        boolean tsv = script.getFormat() == null ? script.getFilename().toLowerCase().endsWith(".tsv") : "TSV".equalsIgnoreCase(script.getFormat());
+        options.setDelimiter(tsv ? '\t' : ',');
+        options.setHeader(!Boolean.FALSE.equals(script.getHeader()));
+        options.setEncoding(config.getScriptEncoding());
+        options.setProfileSize(config.getProfileStatements());
+        if (config.getTransactionMode() == TransactionMode.STATEMENT) {
+            options.setCheckpointInterval(config.getCheckpointInterval());
+        }
+        return options;
+    }
+
+    private void record(MasterDAO masterDao, String scriptFilename, ScriptOutcome outcome, int countScript, int totalScripts, DeployResult result) throws SQLException {
+        String label = database.getLabel();
+        Object total = totalScripts > 0 ? totalScripts : "?";
+        if (outcome == null && unregistered.contains(scriptFilename)) {
+            log.debug("[{}] [{}/{}] (ERROR) The script {} could not be registered.", label, countScript, total, scriptFilename);
+            result.setFailed(result.getFailed() + 1);
+            metrics.recordScript(label, scriptFilename, DeployStatus.ERROR, 0, 0, 0);
+            return;
+        }
+        if (outcome == null) {
+            log.debug("[{}] [{}/{}] (SKIPPED): The script {} has been skipped.", label, countScript, total, scriptFilename);
+            result.setSkipped(result.getSkipped() + 1);
+            metrics.recordScript(label, scriptFilename, DeployStatus.SKIPPED, 0, 0, 0);
+            return;
+        }
+        long start = System.nanoTime();
+        long statements = outcome.stats == null ? 0 : outcome.stats.getStatements();
+        long rowsAffected = outcome.stats == null ? 0 : outcome.stats.getRowsAffected();
+        List<StatementProfile> profile = outcome.stats == null ? null : outcome.stats.getSlowestStatements();
+        if (outcome.exception == null) {
+            log.debug("[{}] [{}/{}] (SUCCESS): The script {} has been successfully executed.", label, countScript, total, scriptFilename);
+            try {
+                masterDao.saveCatalogExecution(scriptFilename, "SUCCESS", outcome.getMiliseconds(), "", profile);
+            } catch (SQLException ex) {
+                // the execution is not recorded, a onetime script would run again on the next deployment
+                log.error("[{}] The execution of script {} could not be recorded : {}", label, scriptFilename, ex.getMessage());
+                result.setFailed(result.getFailed() + 1);
+                metrics.recordScript(label, scriptFilename, DeployStatus.ERROR, outcome.nanos, statements, rowsAffected);
+                throw ex;
+            }
+            result.setExecuted(result.getExecuted() + 1);
+            metrics.recordScript(label, scriptFilename, DeployStatus.SUCCESS, outcome.nanos, statements, rowsAffected);
+        } else if (outcome.exception instanceof ScriptTimeoutException) {
+            log.warn("[{}] [{}/{}] (TIMEOUT) Script {} exceeded its timeout : {}", label, countScript, total, scriptFilename, outcome.exception.getMessage());
+            masterDao.saveCatalogExecution(scriptFilename, "TIMEOUT", outcome.getMiliseconds(), errorMessage(outcome.exception), profile);
+            result.setFailed(result.getFailed() + 1);
+            result.setTimedOut(result.getTimedOut() + 1);
+            metrics.recordScript(label, scriptFilename, DeployStatus.TIMEOUT, outcome.nanos, statements, rowsAffected);
+        } else {
+            log.debug("[{}] [{}/{}] (ERROR) Error executing script {} : {}", label, countScript, total, scriptFilename, outcome.exception.getMessage());
+            masterDao.saveCatalogExecution(scriptFilename, "ERROR", outcome.getMiliseconds(), errorMessage(outcome.exception), profile);
+            result.setFailed(result.getFailed() + 1);
+            metrics.recordScript(label, scriptFilename, DeployStatus.ERROR, outcome.nanos, statements, rowsAffected);
+        }
+        result.setStatements(result.getStatements() + statements);
+        result.setRowsAffected(result.getRowsAffected() + rowsAffected);
+        phase(DeployPhase.BOOKKEEPING, start);
+    }
+
+    private static String errorMessage(Exception ex) {
+        if (ex instanceof ScriptStatementException) {
+            return ex.getMessage();
+        }
+        return ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage();
+    }
+
+    private static class ScriptOutcome {
+
+        private final Exception exception;
+        private final long nanos;
+        private final ScriptStats stats;
+
+        private ScriptOutcome(Exception exception, long nanos, ScriptStats stats) {
+            this.exception = exception;
+            this.nanos = nanos;
+            this.stats = stats;
+        }
+
+        private long getMiliseconds() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    private static class RegisteredScript {
+
+        private final Catalog.Database.Scripts.Script script;
+        private final String filename;
+        private final boolean execute;
+
+        private RegisteredScript(Catalog.Database.Scripts.Script script, String filename, boolean execute) {
+            this.script = script;
+            this.filename = filename;
+            this.execute = execute;
+        }
+    }
+
+    private static class Completion {
+
+        private final int index;
+        private final MasterDAO worker;
+        private final ScriptOutcome outcome;
+
+        private Completion(int index, MasterDAO worker, ScriptOutcome outcome) {
+            this.index = index;
+            this.worker = worker;
+            this.outcome = outcome;
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.application.config.Catalog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency graph of the scripts of one database, in catalog order.
+ * <ul>
+ * <li>A script without depends or group waits for every script before it and every script after it waits for it,
+ * which is the serial order.</li>
+ * <li>Consecutive scripts sharing a group run concurrently once everything before the group has finished.</li>
+ * <li>A script with depends waits only for the scripts whose labels it lists.</li>
+ * </ul>
+ * Unknown or forward labels, duplicated referenced labels and groups split across the catalog make the graph
+ * ambiguous, in which case it falls back to the serial order.
+ */
+@Slf4j
+public class ScriptGraph {
+
+    private final List<List<Integer>> successors;
+    private final int[] predecessors;
+    private final boolean serial;
+
+    private ScriptGraph(List<List<Integer>> successors, int[] predecessors, boolean serial) {
+        this.successors = successors;
+        this.predecessors = predecessors;
+        this.serial = serial;
+    }
+
+    public static ScriptGraph build(List<Catalog.Database.Scripts.Script> scripts) {
+        try {
+            return buildGraph(scripts);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Script dependencies are ambiguous, scripts will be executed in catalog order: {}", ex.getMessage());
+            return serial(scripts.size());
+        }
+    }
+
+    public static ScriptGraph serial(int size) {
+        List<List<Integer>> successors = new ArrayList<>(size);
+        int[] predecessors = new int[size];
+        for (int i = 0; i < size; i++) {
+            List<Integer> next = new ArrayList<>(1);
+            if (i + 1 < size) {
+                next.add(i + 1);
+                predecessors[i + 1] = 1;
+            }
+            successors.add(next);
+        }
+        return new ScriptGraph(successors, predecessors, true);
+    }
+
+    private static ScriptGraph buildGraph(List<Catalog.Database.Scripts.Script> scripts) {
+        int size = scripts.size();
+        List<Set<Integer>> edges = new ArrayList<>(size);
+        Map<String, Integer> labels = new HashMap<>();
+        Set<String> duplicatedLabels = new HashSet<>();
+        Set<String> closedGroups = new HashSet<>();
+
+        // scripts a new barrier or group has to wait for, anything older is already reached through them
+        Set<Integer> frontier = new LinkedHashSet<>();
+        String currentGroup = null;
+        Set<Integer> groupPredecessors = null;
+
+        for (int i = 0; i < size; i++) {
+            Catalog.Database.Scripts.Script script = scripts.get(i);
+            String group = trimToNull(script.getGroup());
+            String depends = trimToNull(script.getDepends());
+
+            if (currentGroup != null && !currentGroup.equals(group)) {
+                closedGroups.add(currentGroup);
+                currentGroup = null;
+            }
+
+            Set<Integer> predecessors;
+            if (group != null) {
+                if (!group.equals(currentGroup)) {
+                    if (closedGroups.contains(group)) {
+                        throw new IllegalArgumentException("group " + group + " is not declared in consecutive scripts");
+                    }
+                    currentGroup = group;
+                    groupPredecessors = frontier;
+                    frontier = new LinkedHashSet<>();
+                }
+                predecessors = groupPredecessors;
+                frontier.add(i);
+            } else if (depends != null) {
+                predecessors = new LinkedHashSet<>();
+                for (String dependency : depends.split("[,\\s]+")) {
+                    if (dependency.isEmpty()) {
+                        continue;
+                    }
+                    Integer index = labels.get(dependency);
+                    if (index == null) {
+                        throw new IllegalArgumentException("script " + script.getLabel() + " depends on " + dependency + " which is not declared before it");
+                    }
+                    if (duplicatedLabels.contains(dependency)) {
+                        throw new IllegalArgumentException("script " + script.getLabel() + " depends on the duplicated label " + dependency);
+                    }
+                    predecessors.add(index);
+                }
+                frontier.add(i);
+            } else {
+                predecessors = frontier;
+                frontier = new LinkedHashSet<>();
+                frontier.add(i);
+            }
+            edges.add(predecessors);
+
+            if (script.getLabel() != null && labels.putIfAbsent(script.getLabel(), i) != null) {
+                duplicatedLabels.add(script.getLabel());
+            }
+        }
+
+        List<List<Integer>> successors = new ArrayList<>(size);
+        int[] predecessors = new int[size];
+        for (int i = 0; i < size; i++) {
+            successors.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            for (Integer predecessor : edges.get(i)) {
+                successors.get(predecessor).add(i);
+                predecessors[i]++;
+            }
+        }
+        return new ScriptGraph(successors, predecessors, false);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    public int size() {
+        return predecessors.length;
+    }
+
+    public boolean isSerial() {
+        return serial;
+    }
+
+    public List<Integer> getSuccessors(int index) {
+        return successors.get(index);
+    }
+
+    public int[] getPredecessorCounts() {
+        return predecessors.clone();
+    }
+
+}
@@ -0,0 +1,249 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.application.config.Catalog;
+import cl.kanopus.deploysql.application.utils.CatalogUtils;
+import cl.kanopus.deploysql.application.utils.PathUtils;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Expands the catalog entries into scripts on demand. A directory is listed only when the scan reaches it, so the
+ * first script is available before the rest of the tree has been enumerated. Scripts are tracked by file name, so a
+ * scanned script whose file name was already produced fails the scan instead of being taken for the earlier one.
+ */
+public class ScriptScanner implements Iterator<Catalog.Database.Scripts.Script> {
+
+    private static final String DEFAULT_PATTERN = "*.sql";
+
+    private static final Pattern VERSION = Pattern.compile("^([A-Za-z]*)(\\d+(?:[._]\\d+)*)__");
+
+    /**
+     * Natural version order: versions such as V1_1__ are compared part by part and other digit runs by value, so
+     * V1__ sorts before V1_1__ and V2__ before V10__.
+     */
+    public static final Comparator<String> NATURAL_ORDER = ScriptScanner::compareNatural;
+
+    private final Iterator<Serializable> entries;
+    private final Deque<Iterator<Path>> pending = new ArrayDeque<>();
+    private final Set<String> names = new HashSet<>();
+    private Catalog.Database.Scripts.Directory directory;
+    private PathMatcher matcher;
+    private Catalog.Database.Scripts.Script next;
+
+    public ScriptScanner(List<Serializable> entries) {
+        this.entries = (entries == null) ? Collections.emptyIterator() : entries.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Catalog.Database.Scripts.Script next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Catalog.Database.Scripts.Script script = next;
+        next = null;
+        return script;
+    }
+
+    public List<Catalog.Database.Scripts.Script> toList() {
+        List<Catalog.Database.Scripts.Script> scripts = new ArrayList<>();
+        while (hasNext()) {
+            scripts.add(next());
+        }
+        return scripts;
+    }
+
+    private Catalog.Database.Scripts.Script advance() {
+        while (true) {
+            while (!pending.isEmpty()) {
+                Iterator<Path> children = pending.peek();
+                if (!children.hasNext()) {
+                    pending.pop();
+                    continue;
+                }
+                Path path = children.next();
+                if (Files.isDirectory(path)) {
+                    if (Boolean.TRUE.equals(directory.getRecursive())) {
+                        pending.push(list(path));
+                    }
+                } else if (matcher.matches(path.getFileName())) {
+                    return toScript(path);
+                }
+            }
+            if (!entries.hasNext()) {
+                return null;
+            }
+            Serializable entry = entries.next();
+            if (entry instanceof Catalog.Database.Scripts.Script) {
+                Catalog.Database.Scripts.Script script = (Catalog.Database.Scripts.Script) entry;
+                names.add(trackingName(script.getFilename()));
+                return script;
+            }
+            directory = (Catalog.Database.Scripts.Directory) entry;
+            Path root = root(directory.getPath().trim());
+            String pattern = directory.getPattern() == null ? DEFAULT_PATTERN : directory.getPattern();
+            matcher = root.getFileSystem().getPathMatcher("glob:" + pattern);
+            pending.push(list(root));
+        }
+    }
+
+    private static Path root(String path) {
+        try {
+            return PathUtils.resolve(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error opening script directory " + path, ex);
+        }
+    }
+
+    private static Iterator<Path> list(Path dir) {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                children.add(child);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error scanning script directory " + dir, ex);
+        }
+        children.sort((a, b) -> compareNatural(a.getFileName().toString(), b.getFileName().toString()));
+        return children.iterator();
+    }
+
+    private Catalog.Database.Scripts.Script toScript(Path path) {
+        String name = path.getFileName().toString();
+        if (!names.add(trackingName(name))) {
+            throw new IllegalStateException("Script " + path + " has the same file name as an earlier script of the catalog, "
+                    + "scripts are tracked by file name so it would be taken as already executed");
+        }
+        int extension = name.lastIndexOf('.');
+        Catalog.Database.Scripts.Script script = new Catalog.Database.Scripts.Script();
+        script.setFilename(PathUtils.toLocation(path));
+        script.setLabel(extension > 0 ? name.substring(0, extension) : name);
+        script.setOnetime(directory.getOnetime());
+        script.setType(directory.getType());
+        script.setGroup(directory.getGroup());
+        script.setBatch(directory.getBatch());
+        return script;
+    }
+
+    private static String trackingName(String filename) {
+        return CatalogUtils.getName(filename).toUpperCase(Locale.ROOT);
+    }
+
+    private static int compareNatural(String a, String b) {
+        Matcher versionA = VERSION.matcher(a);
+        Matcher versionB = VERSION.matcher(b);
+        if (versionA.find() && versionB.find() && versionA.group(1).equalsIgnoreCase(versionB.group(1))) {
+            String[] partsA = versionA.group(2).split("[._]");
+            String[] partsB = versionB.group(2).split("[._]");
+            for (int k = 0; k < Math.min(partsA.length, partsB.length); k++) {
+                int cmp = compareDigits(partsA[k], partsB[k]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            if (partsA.length != partsB.length) {
+                return Integer.compare(partsA.length, partsB.length);
+            }
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = digitsEnd(a, i);
+                int endB = digitsEnd(b, j);
+                int cmp = compareDigits(a.substring(i, endA), b.substring(j, endB));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                i = endA;
+                j = endB;
+            } else {
+                int cmp = Character.compare(Character.toLowerCase(ca), Character.toLowerCase(cb));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                i++;
+                j++;
+            }
+        }
+        int cmp = Integer.compare(a.length() - i, b.length() - j);
+        return cmp != 0 ? cmp : a.compareTo(b);
+    }
+
+    private static int digitsEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && Character.isDigit(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int compareDigits(String a, String b) {
+        String x = stripZeros(a);
+        String y = stripZeros(b);
+        if (x.length() != y.length()) {
+            return Integer.compare(x.length(), y.length());
+        }
+        return x.compareTo(y);
+    }
+
+    private static String stripZeros(String digits) {
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+            start++;
+        }
+        return digits.substring(start);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesAreBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(100, snapshot.getCount());
+        Assertions.assertEquals(90 * 1_000L + 10 * 1_000_000L, snapshot.getTotalNanos());
+        Assertions.assertEquals(1_000_000, snapshot.getMaxNanos());
+        Assertions.assertEquals(1_023, snapshot.getP50Nanos());
+        Assertions.assertEquals(1_023, snapshot.getP90Nanos());
+        Assertions.assertEquals(1_000_000, snapshot.getP99Nanos());
+    }
+
+    @Test
+    void testResetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        Assertions.assertEquals(2, histogram.snapshot().getCount());
+        histogram.reset();
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(0, snapshot.getCount());
+        Assertions.assertEquals(0, snapshot.getMaxNanos());
+        Assertions.assertEquals(0, snapshot.getP99Nanos());
+    }
+
+}
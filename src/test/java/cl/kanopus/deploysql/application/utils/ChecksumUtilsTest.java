@@ -0,0 +1,64 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+class ChecksumUtilsTest {
+
+    @Test
+    void testTextHashMatchesTheFileHash() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("INSERT INTO años VALUES (").append(i).append(", '😀');\n");
+        }
+        Path file = Files.createTempFile("deploysql", ".sql");
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(ChecksumUtils.sha256(file), ChecksumUtils.sha256(new StringReader(sb.toString())));
+        Assertions.assertNotEquals(ChecksumUtils.sha256(file), ChecksumUtils.sha256(new StringReader(sb.toString() + "\n")));
+    }
+
+    @Test
+    void testCachedHashFollowsFileChanges() throws IOException {
+        Path file = Files.createTempFile("deploysql", ".sql");
+        Files.write(file, "SELECT 1;".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+        Assertions.assertEquals(ChecksumUtils.sha256(file), ChecksumUtils.sha256Cached(file));
+
+        // same size, only the modification time tells the new content apart
+        Files.write(file, "SELECT 2;".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000));
+        Assertions.assertEquals(ChecksumUtils.sha256(file), ChecksumUtils.sha256Cached(file));
+    }
+
+}
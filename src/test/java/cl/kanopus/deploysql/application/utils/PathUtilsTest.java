@@ -0,0 +1,81 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.application.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class PathUtilsTest {
+
+    @Test
+    void testReplacedBundleIsReadAgainInTheNextScope() throws IOException {
+        Path zip = Files.createTempDirectory("deploysql").resolve("bundle.zip");
+        String location = zip + "!/scripts/001.sql";
+
+        bundle(zip, "SELECT 1;");
+        try (PathUtils.BundleScope ignored = PathUtils.openBundles()) {
+            Assertions.assertEquals("SELECT 1;", read(location));
+        }
+
+        bundle(zip, "SELECT 2 FROM DUAL;");
+        try (PathUtils.BundleScope ignored = PathUtils.openBundles()) {
+            Assertions.assertEquals("SELECT 2 FROM DUAL;", read(location));
+        }
+    }
+
+    @Test
+    void testBundleStaysOpenUntilTheLastScopeCloses() throws IOException {
+        Path zip = Files.createTempDirectory("deploysql").resolve("bundle.zip");
+        String location = zip + "!/scripts/001.sql";
+        bundle(zip, "SELECT 1;");
+
+        try (PathUtils.BundleScope outer = PathUtils.openBundles()) {
+            PathUtils.BundleScope inner = PathUtils.openBundles();
+            Path path = PathUtils.resolve(location);
+            inner.close();
+            Assertions.assertEquals("SELECT 1;", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String read(String location) throws IOException {
+        return new String(Files.readAllBytes(PathUtils.resolve(location)), StandardCharsets.UTF_8);
+    }
+
+    private static void bundle(Path zip, String content) throws IOException {
+        try (OutputStream out = Files.newOutputStream(zip); ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("scripts/001.sql"));
+            zipOut.write(content.getBytes(StandardCharsets.UTF_8));
+            zipOut.closeEntry();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.audit;
+
+import cl.kanopus.deploysql.data.pool.ConnectionPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class AuditWriterTest {
+
+    private static final String SQL_INSERT = "INSERT INTO audit_record (id, name) VALUES (?, ?)";
+
+    @Test
+    void testWriteFailureIsThrownByFlushAndClose() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:audit_writer;DB_CLOSE_DELAY=-1", "sa", "", 2, 5, 5000)) {
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE audit_record (id integer PRIMARY KEY, name varchar(10) NOT NULL)");
+            }
+            AuditWriter writer = new AuditWriter("test", 10, 10);
+            writer.start(pool);
+            writer.submit(SQL_INSERT, 1, "first");
+            writer.submit(SQL_INSERT, 2, null);
+            writer.submit(SQL_INSERT, 3, "third");
+
+            Assertions.assertThrows(SQLException.class, writer::flush);
+            Assertions.assertThrows(SQLException.class, writer::close);
+
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery("SELECT count(*) FROM audit_record")) {
+                rs.next();
+                // the records around the failed one are still written
+                Assertions.assertEquals(2, rs.getInt(1));
+            }
+        }
+    }
+
+}
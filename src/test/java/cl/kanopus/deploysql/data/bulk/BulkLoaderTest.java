@@ -0,0 +1,90 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class BulkLoaderTest {
+
+    @Test
+    void testH2LoadsThroughBatchedInserts() throws IOException, SQLException {
+        Path file = Files.createTempFile("deploysql", ".tsv");
+        Files.write(file, "CL\tChile\nAR\tArgentina\nPE\tPeru\n".getBytes(StandardCharsets.UTF_8));
+        ScriptOptions options = new ScriptOptions();
+        options.setTable("country");
+        options.setDelimiter('\t');
+        options.setHeader(false);
+        options.setBatchSize(2);
+
+        BulkLoader loader = BulkLoader.forType(DatabaseType.H2);
+        Assertions.assertTrue(loader instanceof OracleBulkLoader);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:bulk_batches", "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE country (code varchar(2), name varchar(20))");
+
+            // without a header the columns are taken from the table
+            Assertions.assertEquals(3, loader.load(connection, file, options));
+            try (ResultSet rs = statement.executeQuery("SELECT count(*) FROM country")) {
+                Assertions.assertTrue(rs.next());
+                Assertions.assertEquals(3, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void testFileIsReadWithTheScriptEncoding() throws IOException, SQLException {
+        Path file = Files.createTempFile("deploysql", ".csv");
+        Files.write(file, "code,name\nES,España\n".getBytes(StandardCharsets.ISO_8859_1));
+        ScriptOptions options = new ScriptOptions();
+        options.setTable("country");
+        options.setDelimiter(',');
+        options.setHeader(true);
+        options.setEncoding("ISO-8859-1");
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:bulk_encoding", "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE country (code varchar(2), name varchar(20))");
+
+            Assertions.assertEquals(1, BulkLoader.forType(DatabaseType.H2).load(connection, file, options));
+            try (ResultSet rs = statement.executeQuery("SELECT name FROM country")) {
+                Assertions.assertTrue(rs.next());
+                Assertions.assertEquals("España", rs.getString(1));
+            }
+        }
+    }
+
+}
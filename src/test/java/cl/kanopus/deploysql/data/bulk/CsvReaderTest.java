@@ -0,0 +1,54 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.bulk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+class CsvReaderTest {
+
+    @Test
+    void testQuotedFieldsAndNulls() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("id,name,comment\r\n1,\"Doe, John\",\"said \"\"hi\"\"\nbye\"\n2,,\"\"\n"), ',');
+
+        Assertions.assertEquals(Arrays.asList("id", "name", "comment"), csv.next());
+        Assertions.assertEquals(Arrays.asList("1", "Doe, John", "said \"hi\"\nbye"), csv.next());
+        Assertions.assertEquals(Arrays.asList("2", null, ""), csv.next());
+        Assertions.assertNull(csv.next());
+    }
+
+    @Test
+    void testTabDelimitedWithoutTrailingNewline() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a\tb\n1\t2"), '\t');
+
+        Assertions.assertEquals(Arrays.asList("a", "b"), csv.next());
+        Assertions.assertEquals(Arrays.asList("1", "2"), csv.next());
+        Assertions.assertNull(csv.next());
+    }
+
+}
@@ -0,0 +1,59 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.impl;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.SQLException;
+
+class StatementsHashTest {
+
+    private final AbstractDAO dao = new AbstractDAO() {
+        {
+            databaseType = DatabaseType.POSTGRES;
+        }
+    };
+
+    @Test
+    void testHashCoversOnlyTheStatementsBeforeTheCheckpoint() throws SQLException {
+        String hash = hash("INSERT INTO a VALUES (1);\nINSERT INTO a VALUES (2);\nINSERT INTO a VALUES (3);\n", 2);
+
+        Assertions.assertEquals(64, hash.length());
+        Assertions.assertEquals(hash, hash("-- reformatted\nINSERT INTO a VALUES (1); INSERT INTO a   VALUES (2);\nINSERT INTO a VALUES (99);\n", 2));
+        Assertions.assertNotEquals(hash, hash("INSERT INTO a VALUES (1);\nINSERT INTO a VALUES (20);\nINSERT INTO a VALUES (3);\n", 2));
+    }
+
+    @Test
+    void testHashIsNullWhenTheScriptIsShorterThanTheCheckpoint() throws SQLException {
+        Assertions.assertNull(hash("INSERT INTO a VALUES (1);\n", 2));
+    }
+
+    private String hash(String script, int statements) throws SQLException {
+        return dao.statementsHash(new StringReader(script), "test.sql", statements);
+    }
+
+}
@@ -0,0 +1,47 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.lock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class OracleDeployLockTest {
+
+    @Test
+    void testLongLabelFitsTheLockName() {
+        StringBuilder label = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            label.append("tenant_ñandú_");
+        }
+        String name = OracleDeployLock.lockName("cl.kanopus.deploysql:" + label + ":DEPLOY");
+
+        Assertions.assertTrue(name.getBytes(StandardCharsets.UTF_8).length <= 128, name);
+        Assertions.assertFalse(name.startsWith("ORA$"));
+        Assertions.assertEquals(name, OracleDeployLock.lockName("cl.kanopus.deploysql:" + label + ":DEPLOY"));
+        Assertions.assertNotEquals(name, OracleDeployLock.lockName("cl.kanopus.deploysql:" + label + ":OTHER"));
+    }
+
+}
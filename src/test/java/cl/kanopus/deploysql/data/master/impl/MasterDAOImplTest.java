@@ -0,0 +1,192 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.master.impl;
+
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.application.enums.ResumePolicy;
+import cl.kanopus.deploysql.data.script.ScriptOptions;
+import cl.kanopus.deploysql.data.script.ScriptTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class MasterDAOImplTest {
+
+    @Test
+    void testFailedOnetimeFlushFailsTheExecution() throws SQLException {
+        String url = url("onetime_flush");
+        MasterDAOImpl dao = open(url, new DeployConfig());
+        try {
+            Assertions.assertTrue(dao.saveCatalog("SCRIPT", "test", "ONETIME.SQL", true, "checksum"));
+            update(url, "ALTER TABLE CATALOG_SCRIPT_SQL_EXECUTION ADD CONSTRAINT CK_TEST_MILISECONDS CHECK (MILISECONDS >= 0)");
+
+            Assertions.assertThrows(SQLException.class, () -> dao.saveCatalogExecution("ONETIME.SQL", "SUCCESS", -1, "", null));
+            Assertions.assertThrows(SQLException.class, dao::flush);
+        } finally {
+            Assertions.assertThrows(SQLException.class, dao::closeConnection);
+        }
+    }
+
+    @Test
+    void testScriptResumesAfterItsLastCheckpoint() throws SQLException, IOException {
+        String url = url("checkpoint_resume");
+        DeployConfig config = new DeployConfig();
+        config.setResumePolicy(ResumePolicy.RESUME);
+        Path script = Files.createTempDirectory("deploysql").resolve("CHECKPOINT.SQL");
+        Files.write(script, ("CREATE TABLE checkpoint_test (id integer PRIMARY KEY);\n"
+                + "INSERT INTO checkpoint_test VALUES (1);\n"
+                + "INSERT INTO checkpoint_test VALUES (2);\n"
+                + "INSERT INTO missing_table VALUES (3);\n").getBytes(StandardCharsets.UTF_8));
+
+        MasterDAOImpl dao = open(url, config);
+        try {
+            // the catalog row is still a pending tracking record when the first checkpoint is written
+            Assertions.assertTrue(dao.saveCatalog("SCRIPT", "test", "CHECKPOINT.SQL", false, "v1"));
+            Assertions.assertThrows(SQLException.class, () -> dao.executeScript("SCRIPT", script.toString(), checkpoints()));
+        } finally {
+            dao.closeConnection();
+        }
+        Assertions.assertEquals("2", query(url, "SELECT statement_ordinal FROM catalog_script_sql_checkpoint "
+                + "WHERE catalog_id = (SELECT catalog_id FROM catalog_script_sql WHERE filename = 'CHECKPOINT.SQL')"));
+        Assertions.assertEquals("1", query(url, "SELECT count(*) FROM checkpoint_test"));
+
+        Files.write(script, ("CREATE TABLE checkpoint_test (id integer PRIMARY KEY);\n"
+                + "INSERT INTO checkpoint_test VALUES (1);\n"
+                + "INSERT INTO checkpoint_test VALUES (2);\n"
+                + "INSERT INTO checkpoint_test VALUES (3);\n").getBytes(StandardCharsets.UTF_8));
+        MasterDAOImpl resumed = open(url, config);
+        try {
+            Assertions.assertTrue(resumed.saveCatalog("SCRIPT", "test", "CHECKPOINT.SQL", false, "v2"));
+            resumed.executeScript("SCRIPT", script.toString(), checkpoints());
+        } finally {
+            resumed.closeConnection();
+        }
+        Assertions.assertEquals("3", query(url, "SELECT count(*) FROM checkpoint_test"));
+        Assertions.assertEquals("0", query(url, "SELECT count(*) FROM catalog_script_sql_checkpoint"));
+    }
+
+    @Test
+    void testLastStatusBackfillFollowsTheLastExecutionOfTheDay() throws SQLException {
+        String url = url("last_status_backfill");
+        for (String script : new String[]{"001_TABLE_CATALOG_SCRIPT_SQL", "002_TABLE_CATALOG_SCRIPT_SQL_EXECUTION", "003_ALTER_CATALOG_SCRIPT_SQL_CHECKSUM",
+                "004_ALTER_CATALOG_SCRIPT_SQL_EXECUTION_ID", "005_TABLE_CATALOG_SCRIPT_SQL_PROFILE", "006_TABLE_CATALOG_SCRIPT_SQL_CHECKPOINT",
+                "007_TABLE_CATALOG_SCRIPT_SQL_VERSION"}) {
+            update(url, "RUNSCRIPT FROM 'classpath:schema/h2/" + script + ".SQL'");
+        }
+        update(url, "INSERT INTO CATALOG_SCRIPT_SQL_VERSION VALUES (7, CURRENT_DATE)");
+        update(url, "INSERT INTO CATALOG_SCRIPT_SQL (CATALOG_ID, OBJECT_TYPE, LABEL, FILENAME, ONE_TIME) VALUES ('A', 'SCRIPT', 'test', 'A.SQL', '1'), "
+                + "('B', 'SCRIPT', 'test', 'B.SQL', '1'), ('C', 'SCRIPT', 'test', 'C.SQL', '1')");
+        // A failed after succeeding the same day, B succeeded after failing, C has no execution id to order them
+        update(url, "INSERT INTO CATALOG_SCRIPT_SQL_EXECUTION (CATALOG_ID, EXECUTION_DATE, MILISECONDS, STATUS, EXECUTION_ID) VALUES "
+                + "('A', DATE '2024-01-01', 1, 'SUCCESS', '1704100000000_a'), ('A', DATE '2024-01-01', 1, 'ERROR', '1704110000000_a'), "
+                + "('B', DATE '2024-01-01', 1, 'ERROR', '1704100000000_b'), ('B', DATE '2024-01-01', 1, 'SUCCESS', '1704110000000_b'), "
+                + "('C', DATE '2024-01-01', 1, 'ERROR', NULL), ('C', DATE '2024-01-01', 1, 'SUCCESS', NULL)");
+
+        open(url, new DeployConfig()).closeConnection();
+
+        Assertions.assertEquals("ERROR", query(url, "SELECT LAST_STATUS FROM CATALOG_SCRIPT_SQL WHERE CATALOG_ID = 'A'"));
+        Assertions.assertEquals("SUCCESS", query(url, "SELECT LAST_STATUS FROM CATALOG_SCRIPT_SQL WHERE CATALOG_ID = 'B'"));
+        Assertions.assertEquals("SUCCESS", query(url, "SELECT LAST_STATUS FROM CATALOG_SCRIPT_SQL WHERE CATALOG_ID = 'C'"));
+    }
+
+    @Test
+    void testDeployLockIsNamedAfterLabelAndSchema() throws SQLException {
+        Assertions.assertNotEquals(MasterDAOImpl.deployLockName("sales", "PUBLIC"), MasterDAOImpl.deployLockName("billing", "PUBLIC"));
+        Assertions.assertNotEquals(MasterDAOImpl.deployLockName("sales", "TENANT_1"), MasterDAOImpl.deployLockName("sales", "TENANT_2"));
+        Assertions.assertEquals(MasterDAOImpl.deployLockName("sales", "tenant_1"), MasterDAOImpl.deployLockName("sales", "TENANT_1"));
+
+        MasterDAOImpl dao = open(url("deploy_lock"), new DeployConfig());
+        try {
+            Assertions.assertTrue(dao.acquireDeployLock("test", 1));
+            dao.releaseDeployLock();
+        } finally {
+            dao.closeConnection();
+        }
+    }
+
+    @Test
+    void testBulkLoadStopsAtTheDeadline() throws SQLException, IOException {
+        String url = url("bulk_deadline");
+        Path file = Files.createTempDirectory("deploysql").resolve("country.csv");
+        Files.write(file, "code,name\nCL,Chile\nAR,Argentina\n".getBytes(StandardCharsets.UTF_8));
+        update(url, "CREATE TABLE country (code varchar(2), name varchar(20))");
+
+        MasterDAOImpl dao = open(url, new DeployConfig());
+        try {
+            ScriptOptions options = new ScriptOptions();
+            options.setTable("country");
+            options.setDelimiter(',');
+            options.setHeader(true);
+            options.setDeadline(System.nanoTime() - 1);
+            Assertions.assertThrows(ScriptTimeoutException.class, () -> dao.executeScript("BULK", file.toString(), options));
+
+            options.setDeadline(System.nanoTime() + 60_000_000_000L);
+            Assertions.assertEquals(2, dao.executeScript("BULK", file.toString(), options).getRowsAffected());
+        } finally {
+            dao.closeConnection();
+        }
+        Assertions.assertEquals("2", query(url, "SELECT count(*) FROM country"));
+    }
+
+    private static ScriptOptions checkpoints() {
+        ScriptOptions options = new ScriptOptions();
+        options.setCheckpointInterval(2);
+        return options;
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static MasterDAOImpl open(String url, DeployConfig config) throws SQLException {
+        MasterDAOImpl dao = new MasterDAOImpl(config);
+        dao.openConnection("test", "sa", "", url);
+        dao.createSchema();
+        dao.loadCatalogState();
+        return dao;
+    }
+
+    private static String query(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", ""); Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private static void update(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", ""); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+class ScriptFilterReaderTest {
+
+    @Test
+    void testFunctionBodyDoublesQuotesAndReplacesMarkers() throws IOException {
+        String body = "SELECT create_function($BODY$ BEGIN RETURN 'x'; END $BODY$, $1, $$BODY);";
+        String expected = body.replaceAll("'", "''").replaceAll("\\$BODY\\$", "'");
+        Assertions.assertEquals(expected, read(new FunctionBodyReader(new StringReader(body))));
+    }
+
+    @Test
+    void testPlaceholdersAreReplacedAndUnknownOnesKept() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("schema", "sales");
+        values.put("empty", "");
+        String script = "CREATE TABLE ${schema}.orders${empty} (id int); -- ${missing} $ ${unclosed";
+        Assertions.assertEquals("CREATE TABLE sales.orders (id int); -- ${missing} $ ${unclosed",
+                read(new PlaceholderReader(new StringReader(script), values)));
+    }
+
+    @Test
+    void testFiltersCompose() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("owner", "O'Brien");
+        Reader reader = new FunctionBodyReader(new PlaceholderReader(new StringReader("$BODY$${owner}$BODY$"), values));
+        Assertions.assertEquals("'O''Brien'", read(reader));
+    }
+
+    private static String read(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[7];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
+}
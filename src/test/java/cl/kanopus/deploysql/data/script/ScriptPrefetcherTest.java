@@ -0,0 +1,92 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+class ScriptPrefetcherTest {
+
+    @Test
+    void testScriptsLargerThanTheBufferAreStreamed() throws IOException {
+        try (ScriptPrefetcher prefetcher = new ScriptPrefetcher(DatabaseType.POSTGRES, 40)) {
+            PrefetchedScript first = prefetcher.submit("first.sql", () -> new StringReader(script("a", 50)));
+            PrefetchedScript second = prefetcher.submit("second.sql", () -> new StringReader(script("b", 50)));
+
+            List<SqlStatement> statements = drain(first);
+            Assertions.assertEquals(50, statements.size());
+            Assertions.assertEquals("INSERT INTO a VALUES (50)", statements.get(49).getText());
+            Assertions.assertEquals(50, drain(second).size());
+        }
+    }
+
+    @Test
+    void testClosedScriptReleasesTheBuffer() throws IOException {
+        try (ScriptPrefetcher prefetcher = new ScriptPrefetcher(DatabaseType.POSTGRES, 40)) {
+            PrefetchedScript skipped = prefetcher.submit("skipped.sql", () -> new StringReader(script("a", 50)));
+            PrefetchedScript executed = prefetcher.submit("executed.sql", () -> new StringReader(script("b", 3)));
+
+            skipped.close();
+            List<SqlStatement> statements = drain(executed);
+            Assertions.assertEquals(3, statements.size());
+            Assertions.assertEquals(1, statements.get(0).getOrdinal());
+        }
+    }
+
+    @Test
+    void testReadFailureIsReportedToTheExecution() {
+        try (ScriptPrefetcher prefetcher = new ScriptPrefetcher(DatabaseType.POSTGRES, 40)) {
+            PrefetchedScript missing = prefetcher.submit("missing.sql", () -> {
+                throw new IOException("missing.sql not found");
+            });
+            IOException ex = Assertions.assertThrows(IOException.class, () -> drain(missing));
+            Assertions.assertEquals("missing.sql not found", ex.getMessage());
+        }
+    }
+
+    private static String script(String table, int rows) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= rows; i++) {
+            sb.append("INSERT INTO ").append(table).append(" VALUES (").append(i).append(");\n");
+        }
+        return sb.toString();
+    }
+
+    private static List<SqlStatement> drain(PrefetchedScript script) throws IOException {
+        List<SqlStatement> statements = new ArrayList<>();
+        SqlStatement sql;
+        while ((sql = script.next()) != null) {
+            statements.add(sql);
+        }
+        script.close();
+        return statements;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import cl.kanopus.deploysql.application.enums.DatabaseType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+class SqlStatementReaderTest {
+
+    @Test
+    void testSplitRemovesCommentsAndCollapsesWhitespace() throws IOException {
+        List<SqlStatement> statements = read(DatabaseType.POSTGRES, ""
+                + "-- header comment\n"
+                + "CREATE TABLE a (id int);  /* block\n"
+                + " comment */ INSERT INTO a\n"
+                + "   VALUES (1); -- trailing\n"
+                + "INSERT INTO a VALUES ('x;y''z');\n");
+
+        Assertions.assertEquals(3, statements.size());
+        Assertions.assertEquals("CREATE TABLE a (id int)", statements.get(0).getText());
+        Assertions.assertEquals("INSERT INTO a VALUES (1)", statements.get(1).getText());
+        Assertions.assertEquals(3, statements.get(1).getLine());
+        Assertions.assertEquals("INSERT INTO a VALUES ('x;y''z')", statements.get(2).getText());
+        Assertions.assertEquals(3, statements.get(2).getOrdinal());
+    }
+
+    @Test
+    void testPostgresDollarQuotedBodyIsKeptVerbatim() throws IOException {
+        List<SqlStatement> statements = read(DatabaseType.POSTGRES, ""
+                + "CREATE FUNCTION f() RETURNS int AS $fn$\n"
+                + "BEGIN\n"
+                + "  -- keep me\n"
+                + "  RETURN 1;\n"
+                + "END;\n"
+                + "$fn$ LANGUAGE plpgsql;\n"
+                + "SELECT f();");
+
+        Assertions.assertEquals(2, statements.size());
+        Assertions.assertEquals("CREATE FUNCTION f() RETURNS int AS $fn$\nBEGIN\n  -- keep me\n  RETURN 1;\nEND;\n$fn$ LANGUAGE plpgsql", statements.get(0).getText());
+        Assertions.assertEquals("SELECT f()", statements.get(1).getText());
+    }
+
+    @Test
+    void testOracleBlockEndsWithSlash() throws IOException {
+        List<SqlStatement> statements = read(DatabaseType.ORACLE, ""
+                + "CREATE TABLE a (id NUMBER);\n"
+                + "CREATE OR REPLACE PROCEDURE p AS\n"
+                + "BEGIN\n"
+                + "  INSERT INTO a VALUES (1);\n"
+                + "END;\n"
+                + "/\n"
+                + "INSERT INTO a VALUES (2);\n");
+
+        Assertions.assertEquals(3, statements.size());
+        Assertions.assertEquals("CREATE OR REPLACE PROCEDURE p AS BEGIN INSERT INTO a VALUES (1); END;", statements.get(1).getText());
+        Assertions.assertEquals("INSERT INTO a VALUES (2)", statements.get(2).getText());
+    }
+
+    @Test
+    void testSqlServerGoEndsBatch() throws IOException {
+        List<SqlStatement> statements = read(DatabaseType.SQLSERVER, ""
+                + "CREATE PROCEDURE p AS\n"
+                + "  SELECT 1;\n"
+                + "  SELECT 2;\n"
+                + "GO\n"
+                + "EXEC p;\n");
+
+        Assertions.assertEquals(2, statements.size());
+        Assertions.assertEquals("CREATE PROCEDURE p AS SELECT 1; SELECT 2;", statements.get(0).getText());
+        Assertions.assertEquals("EXEC p", statements.get(1).getText());
+    }
+
+    @Test
+    void testScriptWithoutSeparatorRunsLineByLine() throws IOException {
+        List<SqlStatement> statements = read(DatabaseType.POSTGRES, "SELECT 1\n\nSELECT 2\nSELECT 3");
+
+        Assertions.assertEquals(3, statements.size());
+        Assertions.assertEquals("SELECT 2", statements.get(1).getText());
+        Assertions.assertEquals(3, statements.get(1).getLine());
+        Assertions.assertEquals("SELECT 3", statements.get(2).getText());
+    }
+
+    private static List<SqlStatement> read(DatabaseType databaseType, String script) throws IOException {
+        List<SqlStatement> statements = new ArrayList<>();
+        try (SqlStatementReader reader = new SqlStatementReader(new StringReader(script), databaseType, "test.sql")) {
+            SqlStatement statement;
+            while ((statement = reader.next()) != null) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.data.script;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+class StatementProfilerTest {
+
+    @Test
+    void testKeepsSlowestStatementsFirst() {
+        StatementProfiler profiler = new StatementProfiler(2);
+        profiler.record(new SqlStatement(1, 1, "INSERT 1"), 300, 1);
+        profiler.record(new SqlStatement(2, 2, "UPDATE 2"), 900, 40);
+        profiler.record(new SqlStatement(3, 5, "INSERT 3"), 100, 1);
+        profiler.record(new SqlStatement(4, 9, "DELETE 4"), 500, 3);
+
+        List<StatementProfile> slowest = profiler.getSlowest();
+        Assertions.assertEquals(2, slowest.size());
+        Assertions.assertEquals(2, slowest.get(0).getOrdinal());
+        Assertions.assertEquals(40, slowest.get(0).getRowsAffected());
+        Assertions.assertEquals(4, slowest.get(1).getOrdinal());
+        Assertions.assertEquals(9, slowest.get(1).getLine());
+    }
+
+    @Test
+    void testBatchIsReportedAtItsFirstStatement() {
+        StatementProfiler profiler = new StatementProfiler(5);
+        profiler.recordBatch(Arrays.asList(new SqlStatement(7, 12, "INSERT INTO t VALUES (1)"), new SqlStatement(8, 13, "INSERT INTO t VALUES (2)")), 1_000, 2);
+
+        StatementProfile profile = profiler.getSlowest().get(0);
+        Assertions.assertEquals(7, profile.getOrdinal());
+        Assertions.assertEquals("[batch of 2] INSERT INTO t VALUES (1)", profile.getText());
+    }
+
+    @Test
+    void testDisabledProfilerKeepsNothing() {
+        StatementProfiler profiler = new StatementProfiler(0);
+        profiler.record(new SqlStatement(1, 1, "SELECT 1"), 1_000, 0);
+        Assertions.assertTrue(profiler.getSlowest().isEmpty());
+    }
+
+}
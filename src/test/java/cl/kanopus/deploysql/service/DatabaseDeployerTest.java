@@ -0,0 +1,246 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.DeployResult;
+import cl.kanopus.deploysql.application.config.Catalog;
+import cl.kanopus.deploysql.application.config.DeployConfig;
+import cl.kanopus.deploysql.application.enums.DeployStatus;
+import cl.kanopus.deploysql.application.enums.TimeoutAction;
+import cl.kanopus.deploysql.data.pool.ConnectionPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+class DatabaseDeployerTest {
+
+    @Test
+    void testRedeployWithCatalogSnapshot() throws IOException, SQLException {
+        assertRedeploy("redeploy_snapshot", new DeployConfig());
+    }
+
+    @Test
+    void testRedeployWithoutCatalogSnapshot() throws IOException, SQLException {
+        DeployConfig config = new DeployConfig();
+        config.setCatalogSnapshot(false);
+        assertRedeploy("redeploy_queries", config);
+    }
+
+    @Test
+    void testRedeployWithImmediateTracking() throws IOException, SQLException {
+        DeployConfig config = new DeployConfig();
+        config.setTrackingBatchSize(1);
+        assertRedeploy("redeploy_immediate", config);
+    }
+
+    @Test
+    void testRedeployWithAsyncAudit() throws IOException, SQLException {
+        DeployConfig config = new DeployConfig();
+        config.setAsyncAudit(true);
+        assertRedeploy("redeploy_async", config);
+    }
+
+    /**
+     * First deployment, a redeployment with every script skipped, then a changed repeatable script and an edited
+     * onetime script: only the repeatable one runs again.
+     */
+    private static void assertRedeploy(String name, DeployConfig config) throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script table = script(dir, "001_SETTINGS.SQL", true, "CREATE TABLE settings (name varchar(20) PRIMARY KEY, setting varchar(20));");
+        Catalog.Database.Scripts.Script once = script(dir, "002_DEFAULTS.SQL", true, "INSERT INTO settings VALUES ('created', 'yes');");
+        Catalog.Database.Scripts.Script region = script(dir, "003_REGION.SQL", false, "MERGE INTO settings KEY (name) VALUES ('region', 'eu');");
+
+        try (ConnectionPool pool = pool(name)) {
+            assertDeployed(3, 0, deploy(pool, config, table, once, region));
+            Assertions.assertEquals("3", query(pool, "SELECT count(*) FROM catalog_script_sql WHERE last_status = 'SUCCESS' AND checksum IS NOT NULL"));
+
+            assertDeployed(0, 3, deploy(pool, config, table, once, region));
+
+            script(dir, "002_DEFAULTS.SQL", true, "INSERT INTO settings VALUES ('created', 'again');");
+            script(dir, "003_REGION.SQL", false, "MERGE INTO settings KEY (name) VALUES ('region', 'us');");
+            assertDeployed(1, 2, deploy(pool, config, table, once, region));
+
+            Assertions.assertEquals("yes", query(pool, "SELECT setting FROM settings WHERE name = 'created'"));
+            Assertions.assertEquals("us", query(pool, "SELECT setting FROM settings WHERE name = 'region'"));
+            Assertions.assertEquals("4", query(pool, "SELECT count(*) FROM catalog_script_sql_execution WHERE status = 'SUCCESS'"));
+            Assertions.assertEquals("3", query(pool, "SELECT count(*) FROM catalog_script_sql"));
+        }
+    }
+
+    @Test
+    void testFingerprintFollowsThePlaceholders() throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script table = script(dir, "001_SETTINGS.SQL", true, "CREATE TABLE settings (name varchar(20) PRIMARY KEY, setting varchar(20));");
+        Catalog.Database.Scripts.Script region = script(dir, "002_REGION.SQL", false, "MERGE INTO settings KEY (name) VALUES ('region', '${region}');");
+        DeployConfig config = new DeployConfig();
+        config.setCatalogFingerprint(true);
+        config.setPlaceholders(Collections.singletonMap("region", "eu"));
+
+        try (ConnectionPool pool = pool("fingerprint_placeholders")) {
+            assertDeployed(2, 0, deploy(pool, config, table, region));
+            String fingerprint = query(pool, "SELECT fingerprint FROM catalog_script_sql_deploy");
+            assertDeployed(0, 2, deploy(pool, config, table, region));
+
+            config.setPlaceholders(Collections.singletonMap("region", "us"));
+            assertDeployed(1, 1, deploy(pool, config, table, region));
+            Assertions.assertEquals("us", query(pool, "SELECT setting FROM settings WHERE name = 'region'"));
+            Assertions.assertNotEquals(fingerprint, query(pool, "SELECT fingerprint FROM catalog_script_sql_deploy"));
+        }
+    }
+
+    @Test
+    void testFailedRegistrationIsNotFingerprinted() throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script first = script(dir, "001_FIRST.SQL", true, "CREATE TABLE first_table (id integer);");
+        Catalog.Database.Scripts.Script second = script(dir, "002_SECOND.SQL", true, "CREATE TABLE second_table (id integer);");
+        second.setLabel("rejected");
+        DeployConfig config = new DeployConfig();
+        config.setCatalogFingerprint(true);
+        config.setTrackingBatchSize(1);
+
+        try (ConnectionPool pool = pool("fingerprint_registration")) {
+            assertDeployed(1, 0, deploy(pool, config, first));
+            update(pool, "ALTER TABLE catalog_script_sql ADD CONSTRAINT ck_test_label CHECK (label <> 'rejected')");
+
+            DeployResult result = deploy(pool, config, first, second);
+            Assertions.assertEquals(1, result.getFailed());
+            Assertions.assertEquals(1, result.getSkipped());
+            Assertions.assertNull(query(pool, "SELECT fingerprint FROM catalog_script_sql_deploy"));
+            Assertions.assertEquals(1, deploy(pool, config, first, second).getFailed());
+        }
+    }
+
+    @Test
+    void testReadAheadExecutesOnlyTheChangedScripts() throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script table = script(dir, "001_COUNTER.SQL", true, "CREATE TABLE counter (name varchar(20) PRIMARY KEY, hits integer);");
+        Catalog.Database.Scripts.Script first = script(dir, "002_FIRST.SQL", false, "MERGE INTO counter KEY (name) VALUES ('first', 1);");
+        Catalog.Database.Scripts.Script second = script(dir, "003_SECOND.SQL", false, "MERGE INTO counter KEY (name) VALUES ('second', 1);");
+        DeployConfig config = new DeployConfig();
+        config.setReadAhead(2);
+
+        try (ConnectionPool pool = pool("read_ahead")) {
+            assertDeployed(3, 0, deploy(pool, config, table, first, second));
+            script(dir, "003_SECOND.SQL", false, "MERGE INTO counter KEY (name) VALUES ('second', 2);");
+            assertDeployed(1, 2, deploy(pool, config, table, first, second));
+            Assertions.assertEquals("2", query(pool, "SELECT hits FROM counter WHERE name = 'second'"));
+        }
+    }
+
+    @Test
+    void testParallelWorkersWriteCheckpoints() throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script first = script(dir, "001_FIRST.SQL", false, "CREATE TABLE first_table (id integer);\nINSERT INTO first_table VALUES (1);");
+        Catalog.Database.Scripts.Script second = script(dir, "002_SECOND.SQL", false, "CREATE TABLE second_table (id integer);\nINSERT INTO missing_table VALUES (1);");
+        first.setGroup("tables");
+        second.setGroup("tables");
+        DeployConfig config = new DeployConfig();
+        config.setScriptParallelism(2);
+        config.setCheckpointInterval(1);
+
+        try (ConnectionPool pool = pool("parallel_checkpoints")) {
+            DeployResult result = deploy(pool, config, first, second);
+            Assertions.assertEquals(1, result.getExecuted());
+            Assertions.assertEquals(1, result.getFailed());
+            // the worker of the failed script found its catalog row and kept its progress
+            Assertions.assertEquals("1", query(pool, "SELECT c.statement_ordinal FROM catalog_script_sql_checkpoint c "
+                    + "JOIN catalog_script_sql s ON s.catalog_id = c.catalog_id WHERE s.filename = '002_SECOND.SQL'"));
+        }
+    }
+
+    @Test
+    void testScriptTimeoutStopsTheDeployment() throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("deploysql");
+        Catalog.Database.Scripts.Script slow = script(dir, "001_SLOW.SQL", true, "CREATE ALIAS SLEEP FOR 'java.lang.Thread.sleep';\nCALL SLEEP(1500);\nSELECT 1;");
+        slow.setTimeout(1);
+        Catalog.Database.Scripts.Script next = script(dir, "002_NEXT.SQL", true, "CREATE TABLE next_table (id integer);");
+        DeployConfig config = new DeployConfig();
+        config.setTimeoutAction(TimeoutAction.STOP);
+
+        try (ConnectionPool pool = pool("script_timeout")) {
+            DeployResult result = deploy(pool, config, slow, next);
+            Assertions.assertEquals(DeployStatus.ERROR, result.getStatus());
+            Assertions.assertEquals(1, result.getTimedOut());
+            Assertions.assertEquals(1, result.getSkipped());
+            Assertions.assertEquals("TIMEOUT", query(pool, "SELECT last_status FROM catalog_script_sql WHERE filename = '001_SLOW.SQL'"));
+            Assertions.assertNull(query(pool, "SELECT last_status FROM catalog_script_sql WHERE filename = '002_NEXT.SQL'"));
+        }
+    }
+
+    private static DeployResult deploy(ConnectionPool pool, DeployConfig config, Catalog.Database.Scripts.Script... scripts) {
+        Catalog.Database.Scripts entries = new Catalog.Database.Scripts();
+        entries.setEntries(new ArrayList<>(Arrays.asList(scripts)));
+        Catalog.Database database = new Catalog.Database();
+        database.setLabel("test");
+        database.setScripts(entries);
+        return new DatabaseDeployer(database, pool, config).deploy();
+    }
+
+    private static void assertDeployed(int executed, int skipped, DeployResult result) {
+        Assertions.assertEquals(DeployStatus.SUCCESS, result.getStatus(), String.valueOf(result.getException()));
+        Assertions.assertEquals(0, result.getFailed());
+        Assertions.assertEquals(executed, result.getExecuted());
+        Assertions.assertEquals(skipped, result.getSkipped());
+    }
+
+    private static Catalog.Database.Scripts.Script script(Path dir, String filename, boolean onetime, String content) throws IOException {
+        Path file = dir.resolve(filename);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Catalog.Database.Scripts.Script script = new Catalog.Database.Scripts.Script();
+        script.setType("SCRIPT");
+        script.setLabel(filename);
+        script.setFilename(file.toString());
+        script.setOnetime(onetime);
+        return script;
+    }
+
+    private static ConnectionPool pool(String name) {
+        return new ConnectionPool("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 5, 5000);
+    }
+
+    private static String query(ConnectionPool pool, String sql) throws SQLException {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private static void update(ConnectionPool pool, String sql) throws SQLException {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
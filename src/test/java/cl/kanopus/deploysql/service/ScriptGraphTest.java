@@ -0,0 +1,98 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.application.config.Catalog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ScriptGraphTest {
+
+    @Test
+    void testUndeclaredScriptsKeepCatalogOrder() {
+        ScriptGraph graph = ScriptGraph.build(scripts(script("a", null, null), script("b", null, null), script("c", null, null)));
+
+        Assertions.assertFalse(graph.isSerial());
+        Assertions.assertEquals(Arrays.asList(1), graph.getSuccessors(0));
+        Assertions.assertEquals(Arrays.asList(2), graph.getSuccessors(1));
+        Assertions.assertEquals(0, graph.getPredecessorCounts()[0]);
+    }
+
+    @Test
+    void testGroupRunsConcurrentlyBetweenBarriers() {
+        ScriptGraph graph = ScriptGraph.build(scripts(
+                script("schema", null, null),
+                script("index_a", null, "indexes"),
+                script("index_b", null, "indexes"),
+                script("grants", null, null)));
+
+        int[] predecessors = graph.getPredecessorCounts();
+        Assertions.assertEquals(Arrays.asList(1, 2), graph.getSuccessors(0));
+        Assertions.assertEquals(1, predecessors[1]);
+        Assertions.assertEquals(1, predecessors[2]);
+        Assertions.assertEquals(2, predecessors[3]);
+    }
+
+    @Test
+    void testDependsOnlyWaitsForDeclaredScripts() {
+        ScriptGraph graph = ScriptGraph.build(scripts(
+                script("table_a", null, null),
+                script("table_b", null, null),
+                script("data_a", "table_a", null)));
+
+        Assertions.assertEquals(Arrays.asList(1, 2), graph.getSuccessors(0));
+        Assertions.assertEquals(1, graph.getPredecessorCounts()[2]);
+    }
+
+    @Test
+    void testAmbiguousGraphFallsBackToSerial() {
+        ScriptGraph unknown = ScriptGraph.build(scripts(script("a", "missing", null), script("b", null, null)));
+        ScriptGraph splitGroup = ScriptGraph.build(scripts(
+                script("a", null, "g1"), script("b", null, null), script("c", null, "g1")));
+
+        Assertions.assertTrue(unknown.isSerial());
+        Assertions.assertTrue(splitGroup.isSerial());
+        Assertions.assertEquals(Arrays.asList(2), splitGroup.getSuccessors(1));
+    }
+
+    private static List<Catalog.Database.Scripts.Script> scripts(Catalog.Database.Scripts.Script... scripts) {
+        return new ArrayList<>(Arrays.asList(scripts));
+    }
+
+    private static Catalog.Database.Scripts.Script script(String label, String depends, String group) {
+        Catalog.Database.Scripts.Script script = new Catalog.Database.Scripts.Script();
+        script.setLabel(label);
+        script.setFilename(label + ".sql");
+        script.setOnetime(true);
+        script.setType("DATA");
+        script.setDepends(depends);
+        script.setGroup(group);
+        return script;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.deploysql.service;
+
+import cl.kanopus.deploysql.application.config.Catalog;
+import cl.kanopus.deploysql.application.utils.PathUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class ScriptScannerTest {
+
+    @Test
+    void testNaturalVersionOrder() {
+        List<String> names = new ArrayList<>(Arrays.asList("V10__c.sql", "V2__b.sql", "V1__a.sql", "V1_1__a.sql", "v3__d.sql"));
+        names.sort(ScriptScanner.NATURAL_ORDER);
+        Assertions.assertEquals(Arrays.asList("V1__a.sql", "V1_1__a.sql", "V2__b.sql", "v3__d.sql", "V10__c.sql"), names);
+    }
+
+    @Test
+    void testDirectoryIsExpandedBetweenScripts() throws IOException {
+        Path root = Files.createTempDirectory("deploysql");
+        try {
+            Files.createFile(root.resolve("V10__last.sql"));
+            Files.createFile(root.resolve("V2__second.sql"));
+            Files.createFile(root.resolve("notes.txt"));
+            Files.createDirectories(root.resolve("V5__nested"));
+            Files.createFile(root.resolve("V5__nested").resolve("V1__inner.sql"));
+
+            List<Serializable> entries = new ArrayList<>();
+            entries.add(script("first.sql"));
+            entries.add(directory(root, true));
+            entries.add(script("after.sql"));
+
+            List<String> labels = new ArrayList<>();
+            for (Catalog.Database.Scripts.Script script : new ScriptScanner(entries).toList()) {
+                labels.add(script.getLabel());
+            }
+            Assertions.assertEquals(Arrays.asList("first", "V2__second", "V1__inner", "V10__last", "after"), labels);
+        } finally {
+            delete(root);
+        }
+    }
+
+    @Test
+    void testSubdirectoriesAreSkippedWhenNotRecursive() throws IOException {
+        Path root = Files.createTempDirectory("deploysql");
+        try {
+            Files.createFile(root.resolve("V1__top.sql"));
+            Files.createDirectories(root.resolve("sub"));
+            Files.createFile(root.resolve("sub").resolve("V2__nested.sql"));
+
+            List<Catalog.Database.Scripts.Script> scripts = new ScriptScanner(Arrays.asList(directory(root, false))).toList();
+            Assertions.assertEquals(1, scripts.size());
+            Assertions.assertEquals("DATA", scripts.get(0).getType());
+            Assertions.assertEquals(root.resolve("V1__top.sql").toString(), scripts.get(0).getFilename());
+        } finally {
+            delete(root);
+        }
+    }
+
+    @Test
+    void testSameFileNameInTwoSubdirectoriesFailsTheScan() throws IOException {
+        Path root = Files.createTempDirectory("deploysql");
+        try {
+            Files.createDirectories(root.resolve("a"));
+            Files.createDirectories(root.resolve("b"));
+            Files.createFile(root.resolve("a").resolve("001_init.sql"));
+            Files.createFile(root.resolve("b").resolve("001_init.sql"));
+
+            ScriptScanner scanner = new ScriptScanner(Arrays.asList(directory(root, true)));
+            Assertions.assertEquals(root.resolve("a").resolve("001_init.sql").toString(), scanner.next().getFilename());
+            IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, scanner::next);
+            Assertions.assertTrue(ex.getMessage().contains(root.resolve("b").resolve("001_init.sql").toString()));
+        } finally {
+            delete(root);
+        }
+    }
+
+    @Test
+    void testDirectoryInsideBundle() throws IOException {
+        Path root = Files.createTempDirectory("deploysql");
+        try {
+            Path bundle = root.resolve("scripts.zip");
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(bundle))) {
+                zip.putNextEntry(new ZipEntry("db/V2__second.sql"));
+                zip.write("SELECT 2;".getBytes(StandardCharsets.UTF_8));
+                zip.putNextEntry(new ZipEntry("db/V1__first.sql"));
+                zip.write("SELECT 1;".getBytes(StandardCharsets.UTF_8));
+            }
+
+            Catalog.Database.Scripts.Directory directory = directory(root, false);
+            directory.setPath(bundle + "!/db");
+            List<Catalog.Database.Scripts.Script> scripts = new ScriptScanner(Arrays.asList(directory)).toList();
+            Assertions.assertEquals(2, scripts.size());
+            Assertions.assertEquals(bundle + "!/db/V1__first.sql", scripts.get(0).getFilename());
+            Path entry = PathUtils.resolve(scripts.get(1).getFilename());
+            Assertions.assertEquals("SELECT 2;", new String(Files.readAllBytes(entry), StandardCharsets.UTF_8));
+        } finally {
+            delete(root);
+        }
+    }
+
+    private static Catalog.Database.Scripts.Script script(String filename) {
+        Catalog.Database.Scripts.Script script = new Catalog.Database.Scripts.Script();
+        script.setFilename(filename);
+        script.setLabel(filename.substring(0, filename.indexOf('.')));
+        return script;
+    }
+
+    private static Catalog.Database.Scripts.Directory directory(Path path, boolean recursive) {
+        Catalog.Database.Scripts.Directory directory = new Catalog.Database.Scripts.Directory();
+        directory.setPath(path.toString());
+        directory.setRecursive(recursive);
+        directory.setOnetime(true);
+        directory.setType("DATA");
+        return directory;
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}